@@ -0,0 +1,76 @@
+package game.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import game.model.MapStats;
+import game.model.TileGrid;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a map as JSON, with the binary format as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapJsonBenchmark {
+
+    @Param({"8", "64"})
+    public int size;
+
+    // Same configuration as the mapper of the application
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private MapDto map;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        TileGrid grid = new TileGrid(size * size);
+        for (int i = 0; i < grid.size(); i++) {
+            grid.set(i, random.nextInt(TileGrid.MAX_TILE_VALUE + 1));
+        }
+        map = new MapDto(1, "benchmark", size, size, grid);
+        map.setStats(MapStatsDto.of(MapStats.of(grid, size, size)));
+        json = mapper.writeValueAsBytes(map);
+        binary = writeBinary();
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws IOException {
+        return mapper.writeValueAsBytes(map);
+    }
+
+    @Benchmark
+    public MapDto deserializeJson() throws IOException {
+        return mapper.readValue(json, MapDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() throws IOException {
+        return writeBinary();
+    }
+
+    @Benchmark
+    public MapDto deserializeBinary() throws IOException {
+        return MapBinaryFormat.read(new DataInputStream(new ByteArrayInputStream(binary)));
+    }
+
+    private byte[] writeBinary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(TileGrid.byteCount(size * size) + 64);
+        MapBinaryFormat.write(map, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package game.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packing and unpacking of the tiles of an entity. A loaded entity only holds
+ * the packed bytes, its first call to getTiles unpacks them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapEntityBenchmark {
+
+    private static final VarHandle TILES;
+
+    static {
+        try {
+            TILES = MethodHandles.privateLookupIn(MapEntity.class, MethodHandles.lookup())
+                    .findVarHandle(MapEntity.class, "tiles", TileGrid.class);
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    @Param({"8", "64"})
+    public int size;
+
+    private TileGrid grid;
+    private MapEntity entity;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        grid = new TileGrid(size * size);
+        for (int i = 0; i < grid.size(); i++) {
+            grid.set(i, random.nextInt(TileGrid.MAX_TILE_VALUE + 1));
+        }
+        entity = new MapEntity("benchmark", size, size, grid);
+    }
+
+    @Benchmark
+    public MapEntity setTiles() {
+        entity.setTiles(grid);
+        return entity;
+    }
+
+    @Benchmark
+    public TileGrid getTilesLoaded() {
+        // Drops the unpacked tiles, as for an entity just read from the database
+        TILES.set(entity, null);
+        return entity.getTiles();
+    }
+
+    @Benchmark
+    public TileGrid getTilesCached() {
+        return entity.getTiles();
+    }
+}
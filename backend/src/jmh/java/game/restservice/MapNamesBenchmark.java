@@ -0,0 +1,65 @@
+package game.restservice;
+
+import game.Main;
+import game.dto.GenerateRequestDto;
+import game.generator.GeneratorService;
+import game.repository.MapRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing the map names of an H2 database seeded with generated maps, from the
+ * name index of the service and straight from the names-only query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapNamesBenchmark {
+
+    @Param({"1000", "50000"})
+    public int mapCount;
+
+    private ConfigurableApplicationContext context;
+    private MapService service;
+    private MapRepository repository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + mapCount,
+                        "--spring.jpa.show-sql=false",
+                        "--game.movelog.directory=target/moves-benchmark",
+                        "--logging.level.root=WARN",
+                        "--game.stats.backfill.enabled=false",
+                        "--game.generator.max-count=" + mapCount);
+        service = context.getBean(MapService.class);
+        repository = context.getBean(MapRepository.class);
+        // The same seed always gives the same catalog
+        context.getBean(GeneratorService.class).generate(new GenerateRequestDto(
+                1L, mapCount, null, null, null, null, null, "benchmark", true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<String> getMapNames() {
+        return service.getMapNames();
+    }
+
+    @Benchmark
+    public List<String> findAllNames() {
+        return repository.findAllNames();
+    }
+}
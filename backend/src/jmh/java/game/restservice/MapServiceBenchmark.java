@@ -0,0 +1,74 @@
+package game.restservice;
+
+import game.dto.MapDto;
+import game.model.MapEntity;
+import game.model.TileGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and conversions done by the service on every save and every uncached read.
+ * None of them touches the repositories, the service is built without them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapServiceBenchmark {
+
+    @Param({"8", "64"})
+    public int size;
+
+    private MapService service;
+    private MapDto jsonDto;
+    private MapDto binaryDto;
+    private TileGrid grid;
+    private MapEntity entity;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        service = new MapService(null, null, null, null, null, null, false);
+        SplittableRandom random = new SplittableRandom(42);
+        grid = new TileGrid(size * size);
+        for (int i = 0; i < grid.size(); i++) {
+            grid.set(i, random.nextInt(TileGrid.MAX_TILE_VALUE + 1));
+        }
+        binaryDto = new MapDto(null, "benchmark", size, size, grid);
+        // A map read from JSON only has the list of tiles
+        jsonDto = new MapDto(null, "benchmark", grid.asList().stream().toList());
+        jsonDto.setWidth(size);
+        jsonDto.setHeight(size);
+
+        // A stored entity has its signatures and statistics
+        entity = new MapEntity("benchmark", size, size, grid);
+        entity.setId(1);
+        Method updateSignatures = MapEntity.class.getDeclaredMethod("updateSignatures");
+        updateSignatures.setAccessible(true);
+        updateSignatures.invoke(entity);
+    }
+
+    @Benchmark
+    public TileGrid validateJson() {
+        return MapService.validateDto(jsonDto);
+    }
+
+    @Benchmark
+    public TileGrid validateBinary() {
+        return MapService.validateDto(binaryDto);
+    }
+
+    @Benchmark
+    public MapDto toDto() {
+        return service.toDto(entity);
+    }
+
+    @Benchmark
+    public MapEntity toEntity() {
+        return service.toEntity(binaryDto, grid);
+    }
+}
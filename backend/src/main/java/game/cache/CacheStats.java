@@ -0,0 +1,4 @@
+package game.cache;
+
+public record CacheStats(long hits, long negativeHits, long misses, long coalesced, long evictions, int size, int maxSize) {
+}
@@ -0,0 +1,124 @@
+package game.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of requests sent with an Idempotency-Key header,
+ * so that a retried request gets the first response instead of running again.
+ * A retry arriving while the first request is still running waits for it.
+ * Server errors are not remembered, the request can then be retried.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    // All entries share the same TTL, so the insertion order is the expiry order
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${game.idempotency.ttl:10m}") Duration ttl,
+                            @Value("${game.idempotency.max-keys:100000}") int maxKeys) {
+        this(ttl, maxKeys, System::nanoTime);
+    }
+
+    IdempotencyStore(Duration ttl, int maxKeys, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the action once per key and returns its response to every request sent with the key.
+     *
+     * @param fingerprint digest of the request content, reusing a key for another request is rejected
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, byte[] fingerprint, Supplier<ResponseEntity<T>> action) {
+        CompletableFuture<ResponseEntity<?>> response;
+        boolean owner = false;
+        synchronized (this) {
+            purgeExpired();
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(fingerprint, clock.getAsLong() + ttlNanos);
+                entries.put(key, entry);
+                owner = true;
+            } else if (!MessageDigest.isEqual(entry.fingerprint, fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency key already used for another request");
+            }
+            response = entry.response;
+        }
+
+        if (owner) {
+            try {
+                response.complete(action.get());
+            } catch (ResponseStatusException exception) {
+                if (exception.getStatus().is5xxServerError()) {
+                    forget(key);
+                }
+                response.completeExceptionally(exception);
+            } catch (RuntimeException | Error exception) {
+                // Also completed on an Error, the retries waiting for the response would hang otherwise
+                forget(key);
+                response.completeExceptionally(exception);
+            }
+        }
+
+        try {
+            return (ResponseEntity<T>) response.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) exception.getCause();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized void forget(String key) {
+        entries.remove(key);
+    }
+
+    private void purgeExpired() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entries.size() < maxKeys && now - entry.expiresAt < 0) break;
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
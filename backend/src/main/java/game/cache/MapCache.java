@@ -0,0 +1,243 @@
+package game.cache;
+
+import game.dto.MapDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded LRU read-through cache of maps keyed by name.
+ * Lookups of unknown names are cached as negative entries for a short TTL.
+ * Cached DTOs are shared between requests and must not be modified.
+ * Concurrent misses of the same name share a single load and its outcome,
+ * even with a max size of 0.
+ */
+@Component
+public class MapCache {
+
+    private final int maxSize;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<String, Entry> entries;
+    // Bumped on every invalidation so that a load started before it is not stored
+    private long generation;
+    // Loads running for a name, joined by the misses of the name until they end
+    private final HashMap<String, CompletableFuture<Optional<MapDto>>> loading = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public MapCache(@Value("${game.cache.maps.max-size:10000}") int maxSize,
+                    @Value("${game.cache.maps.negative-ttl:30s}") Duration negativeTtl) {
+        this(maxSize, negativeTtl, System::nanoTime);
+    }
+
+    MapCache(int maxSize, Duration negativeTtl, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > MapCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached map, or loads it with the loader and caches the outcome,
+     * an empty result included. A miss while the name is already being loaded
+     * waits for that load instead of calling the loader.
+     */
+    public Optional<MapDto> get(String name, Function<String, Optional<MapDto>> loader) {
+        long stamp;
+        CompletableFuture<Optional<MapDto>> load;
+        boolean owner;
+        synchronized (this) {
+            Optional<MapDto> cached = lookup(name);
+            if (cached != null) {
+                return cached;
+            }
+            load = loading.get(name);
+            owner = load == null;
+            if (owner) {
+                load = new CompletableFuture<>();
+                loading.put(name, load);
+            } else {
+                coalesced.increment();
+            }
+            stamp = generation;
+        }
+        if (!owner) {
+            return join(load);
+        }
+
+        try {
+            Optional<MapDto> loaded = loader.apply(name);
+            synchronized (this) {
+                store(name, loaded, stamp);
+                loading.remove(name, load);
+            }
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error exception) {
+            synchronized (this) {
+                loading.remove(name, load);
+            }
+            load.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the cached map without loading it, null when the map is not
+     * cached. The hit and miss counters are left unchanged.
+     */
+    public synchronized MapDto getIfPresent(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : entry.map;
+    }
+
+    /**
+     * Returns the outcome of each name, in the order of the names, from the
+     * cache or else from a single call of the loader with all the missing
+     * names. The loader returns the maps it found by name.
+     */
+    public Map<String, Optional<MapDto>> getAll(Collection<String> names,
+                                                Function<Collection<String>, Map<String, MapDto>> loader) {
+        Map<String, Optional<MapDto>> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        long stamp;
+        synchronized (this) {
+            for (String name : names) {
+                if (result.containsKey(name)) continue;
+                Optional<MapDto> cached = lookup(name);
+                // A missing name keeps its place in the result until it is loaded
+                result.put(name, cached);
+                if (cached == null) {
+                    missing.add(name);
+                }
+            }
+            stamp = generation;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<String, MapDto> loaded = loader.apply(missing);
+        synchronized (this) {
+            for (String name : missing) {
+                Optional<MapDto> outcome = Optional.ofNullable(loaded.get(name));
+                result.put(name, outcome);
+                store(name, outcome, stamp);
+            }
+        }
+        return result;
+    }
+
+    private static Optional<MapDto> join(CompletableFuture<Optional<MapDto>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException exception) {
+            // The exception of the load, thrown as is to every request waiting for it
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    // The cached outcome of a name, or null on a miss
+    private Optional<MapDto> lookup(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            if (entry.map != null) {
+                hits.increment();
+                return Optional.of(entry.map);
+            }
+            if (clock.getAsLong() - entry.expiresAt < 0) {
+                negativeHits.increment();
+                return Optional.empty();
+            }
+            entries.remove(name);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void store(String name, Optional<MapDto> loaded, long stamp) {
+        if (stamp == generation && maxSize > 0) {
+            entries.put(name, loaded
+                    .map(Entry::positive)
+                    .orElseGet(() -> Entry.negative(clock.getAsLong() + negativeTtlNanos)));
+        }
+    }
+
+    public synchronized void invalidate(String name) {
+        generation++;
+        entries.remove(name);
+        // A load started before may miss the change, the next misses load again
+        loading.remove(name);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        loading.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(
+                hits.sum(),
+                negativeHits.sum(),
+                misses.sum(),
+                coalesced.sum(),
+                evictions.sum(),
+                entries.size(),
+                maxSize);
+    }
+
+    private static final class Entry {
+        private final MapDto map;
+        private final long expiresAt;
+
+        private Entry(MapDto map, long expiresAt) {
+            this.map = map;
+            this.expiresAt = expiresAt;
+        }
+
+        static Entry positive(MapDto map) {
+            return new Entry(map, 0);
+        }
+
+        static Entry negative(long expiresAt) {
+            return new Entry(null, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package game.cache;
+
+import game.model.ContentHash;
+import game.repository.MapRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Sorted in-memory index of the map names, loaded once from a names-only
+ * projection and then kept up to date by the service on every save.
+ */
+@Component
+public class MapNameIndex {
+
+    private final MapRepository repository;
+
+    private final TreeSet<String> names = new TreeSet<>();
+    private boolean loaded;
+    // Immutable view served to readers, rebuilt lazily after a change
+    private volatile Snapshot snapshot;
+
+    public MapNameIndex(MapRepository repository) {
+        this.repository = repository;
+    }
+
+    public List<String> getNames() {
+        return snapshot().names();
+    }
+
+    // Hash of the catalog, changes whenever a name is added
+    public String getVersion() {
+        return snapshot().version();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuildSnapshot();
+    }
+
+    public synchronized void add(String name) {
+        if (loaded && names.add(name)) {
+            snapshot = null;
+        }
+    }
+
+    public synchronized void addAll(Collection<String> newNames) {
+        if (loaded && names.addAll(newNames)) {
+            snapshot = null;
+        }
+    }
+
+    // Drops the index, the next read reloads it from the database
+    public synchronized void invalidate() {
+        names.clear();
+        loaded = false;
+        snapshot = null;
+    }
+
+    private synchronized Snapshot rebuildSnapshot() {
+        if (snapshot == null) {
+            if (!loaded) {
+                names.addAll(repository.findAllNames());
+                loaded = true;
+            }
+            snapshot = new Snapshot(List.copyOf(names), ContentHash.ofNames(names));
+        }
+        return snapshot;
+    }
+
+    private record Snapshot(List<String> names, String version) {
+    }
+}
@@ -0,0 +1,85 @@
+package game.config;
+
+import game.dto.MapBinaryFormat;
+import game.dto.MapDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Reads a map and writes maps or collections of maps in the binary format
+ * of {@link MapBinaryFormat}.
+ */
+public class MapBinaryMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(MapBinaryFormat.MEDIA_TYPE);
+
+    public MapBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MapDto.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type == MapDto.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        boolean supported = type != null ? type == MapDto.class || isMapCollection(type) : supports(clazz);
+        return supported && canWrite(mediaType);
+    }
+
+    private static boolean isMapCollection(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == MapDto.class;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(MapDto.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            MapDto map = MapBinaryFormat.read(new DataInputStream(new BufferedInputStream(inputMessage.getBody())));
+            if (map == null) {
+                throw new HttpMessageNotReadableException("Empty map body", inputMessage);
+            }
+            return map;
+        } catch (IllegalArgumentException exception) {
+            throw new HttpMessageNotReadableException(exception.getMessage(), exception, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody()));
+        if (value instanceof MapDto map) {
+            MapBinaryFormat.write(map, out);
+        } else {
+            for (Object map : (Collection<?>) value) {
+                MapBinaryFormat.write((MapDto) map, out);
+            }
+        }
+        out.flush();
+    }
+}
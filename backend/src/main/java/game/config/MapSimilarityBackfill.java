@@ -0,0 +1,83 @@
+package game.config;
+
+import game.model.MapEntity;
+import game.model.TileSignature;
+import game.repository.MapBandRepository;
+import game.repository.MapRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes for the similarity search the 8x8 maps saved before it existed,
+ * computing their canonical tiles when missing and inserting their bands.
+ * Each batch is committed on its own and the maps left to do are the ones
+ * without bands, so an interrupted backfill resumes where it stopped.
+ */
+@Component
+public class MapSimilarityBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapSimilarityBackfill.class);
+
+    private final MapRepository repository;
+    private final MapBandRepository bandRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public MapSimilarityBackfill(MapRepository repository, MapBandRepository bandRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${game.similarity.backfill.enabled:true}") boolean enabled,
+                                 @Value("${game.similarity.backfill.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.bandRepository = bandRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /**
+     * @return the number of maps indexed
+     */
+    public int backfill() {
+        int done = 0;
+        int after = 0;
+        while (true) {
+            int[] cursor = {after};
+            List<Integer> ids = transactionTemplate.execute(status -> {
+                List<MapEntity> batch = repository.findWithoutBands(TileSignature.SIZE, cursor[0],
+                        PageRequest.of(0, batchSize));
+                Map<Integer, byte[]> canonicalById = new HashMap<>();
+                for (MapEntity map : batch) {
+                    if (map.getCanonicalTiles() == null) {
+                        map.setCanonicalTiles(TileSignature.canonical(map.getTiles()));
+                    }
+                    canonicalById.put(map.getId(), map.getCanonicalTiles());
+                    cursor[0] = map.getId();
+                }
+                bandRepository.insertBands(canonicalById);
+                return batch.stream().map(MapEntity::getId).toList();
+            });
+            if (ids == null || ids.isEmpty()) break;
+            done += ids.size();
+            after = cursor[0];
+            logger.info("Indexed {} maps for the similarity search", done);
+        }
+        return done;
+    }
+}
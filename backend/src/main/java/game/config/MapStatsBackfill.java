@@ -0,0 +1,108 @@
+package game.config;
+
+import game.cache.MapCache;
+import game.model.ChunkLayout;
+import game.model.MapChunkEntity;
+import game.model.MapEntity;
+import game.model.MapStats;
+import game.model.TileGrid;
+import game.repository.MapChunkRepository;
+import game.repository.MapRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the statistics of the maps saved before they existed.
+ * Each batch is committed on its own and the maps left to do are the ones
+ * without statistics, so an interrupted backfill resumes where it stopped.
+ * The chunked maps of a batch are then done one at a time, each in its own
+ * transaction, so that the chunks of a single map are loaded at once.
+ */
+@Component
+public class MapStatsBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapStatsBackfill.class);
+
+    private final MapRepository repository;
+    private final MapChunkRepository chunkRepository;
+    private final MapCache cache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public MapStatsBackfill(MapRepository repository, MapChunkRepository chunkRepository, MapCache cache,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${game.stats.backfill.enabled:true}") boolean enabled,
+                            @Value("${game.stats.backfill.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.chunkRepository = chunkRepository;
+        this.cache = cache;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /**
+     * @return the number of maps whose statistics were computed
+     */
+    public int backfill() {
+        int done = 0;
+        int after = 0;
+        while (true) {
+            int[] cursor = {after};
+            List<Integer> chunked = new ArrayList<>();
+            List<String> names = transactionTemplate.execute(status -> {
+                List<MapEntity> batch = repository.findWithoutStats(cursor[0], PageRequest.of(0, batchSize));
+                for (MapEntity map : batch) {
+                    if (map.isChunked()) {
+                        chunked.add(map.getId());
+                    } else {
+                        map.setStats(MapStats.of(map.getTiles(), map.getWidth(), map.getHeight()));
+                    }
+                    cursor[0] = map.getId();
+                }
+                return batch.stream().map(MapEntity::getName).toList();
+            });
+            if (names == null || names.isEmpty()) break;
+            for (Integer id : chunked) {
+                transactionTemplate.executeWithoutResult(status -> repository.findById(id).ifPresent(map ->
+                        map.setStats(MapStats.of(chunkedTiles(map), map.getWidth(), map.getHeight()))));
+            }
+            // Cached maps carry their statistics
+            names.forEach(cache::invalidate);
+            done += names.size();
+            after = cursor[0];
+            logger.info("Computed the statistics of {} maps", done);
+        }
+        return done;
+    }
+
+    private TileGrid chunkedTiles(MapEntity map) {
+        int width = map.getWidth();
+        int height = map.getHeight();
+        TileGrid grid = new TileGrid(width * height);
+        List<MapChunkEntity> chunks = chunkRepository.findRegion(map.getId(),
+                0, ChunkLayout.chunkCount(width) - 1, 0, ChunkLayout.chunkCount(height) - 1);
+        for (MapChunkEntity chunk : chunks) {
+            int size = ChunkLayout.chunkLength(width, chunk.getChunkX()) * ChunkLayout.chunkLength(height, chunk.getChunkY());
+            ChunkLayout.insert(grid, width, height, chunk.getChunkX(), chunk.getChunkY(),
+                    TileGrid.fromBytes(chunk.getTiles(), size));
+        }
+        return grid;
+    }
+}
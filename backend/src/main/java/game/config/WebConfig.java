@@ -0,0 +1,31 @@
+package game.config;
+
+import game.metrics.RequestMetricsInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequestMetricsInterceptor metricsInterceptor;
+
+    public WebConfig(RequestMetricsInterceptor metricsInterceptor) {
+        this.metricsInterceptor = metricsInterceptor;
+    }
+
+    // Added after the JSON converter so that JSON stays the default representation
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MapBinaryMessageConverter());
+    }
+
+    // The scrapes of the metrics are left out of the request metrics
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricsInterceptor).excludePathPatterns("/actuator/**");
+    }
+}
@@ -0,0 +1,115 @@
+package game.controller;
+
+import game.dto.MapBinaryFormat;
+import game.dto.MapDto;
+import game.exception.NotFoundException;
+import game.model.ContentHash;
+import game.restservice.AsyncMapService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+// Same routes as MapReadController, answered from the pool of AsyncMapService (game.maps.read-path=async)
+@RestController
+@RequestMapping("api/maps")
+@ConditionalOnProperty(name = "game.maps.read-path", havingValue = "async")
+public class AsyncMapReadController {
+
+    private final AsyncMapService service;
+
+    public AsyncMapReadController(AsyncMapService service) {
+        this.service = service;
+    }
+
+    // GET /maps -> return a list with map names, 304 when the If-None-Match ETag is still current
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<String>>> getMapNames(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.getMapNamesVersion()
+                .thenApply(etag -> {
+                    boolean notModified = notModified(ifNoneMatch, etag);
+                    ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                            .cacheControl(CacheControl.noCache())
+                            .eTag(etag);
+                    return notModified ? response.<List<String>>build() : response.body(service.getMapNames());
+                })
+                .exceptionally(AsyncMapReadController::toResponseStatus);
+    }
+
+    // GET /maps/by-name?name=... -> search a map by its name, 304 when the If-None-Match ETag is still current
+    @GetMapping("/by-name")
+    public CompletableFuture<ResponseEntity<MapDto>> getMapByName(
+            @RequestParam("name") String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getMap(name, ifNoneMatch, false);
+    }
+
+    // GET /maps/by-name in the binary format, with an ETag of its own
+    @GetMapping(value = "/by-name", produces = MapBinaryFormat.MEDIA_TYPE)
+    public CompletableFuture<ResponseEntity<MapDto>> getBinaryMapByName(
+            @RequestParam("name") String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getMap(name, ifNoneMatch, true);
+    }
+
+    private CompletableFuture<ResponseEntity<MapDto>> getMap(String name, String ifNoneMatch, boolean binary) {
+        // A revalidation is answered from the stored hash and version, without loading the tiles
+        CompletableFuture<String> storedHash = ifNoneMatch == null
+                ? CompletableFuture.completedFuture(null)
+                : service.getVersionedHash(name);
+        return storedHash
+                .thenCompose(hash -> hash != null && notModified(ifNoneMatch, MapReadController.etag(hash, binary))
+                        ? CompletableFuture.completedFuture(response(HttpStatus.NOT_MODIFIED, hash, binary).<MapDto>build())
+                        : service.getMapByName(name).thenApply(dto -> {
+                            String loaded = ContentHash.versioned(dto.getContentHash(), dto.getVersion());
+                            boolean notModified = notModified(ifNoneMatch, MapReadController.etag(loaded, binary));
+                            ResponseEntity.BodyBuilder response = response(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK,
+                                    loaded, binary);
+                            return notModified ? response.<MapDto>build() : response.body(dto);
+                        }))
+                .exceptionally(AsyncMapReadController::toResponseStatus);
+    }
+
+    private static ResponseEntity.BodyBuilder response(HttpStatus status, String versionedHash, boolean binary) {
+        return ResponseEntity.status(status)
+                .cacheControl(CacheControl.noCache())
+                .eTag(MapReadController.etag(versionedHash, binary))
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    // Weak comparison of the If-None-Match header, as done by WebRequest.checkNotModified
+    private static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        String quoted = "\"" + etag + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(quoted)) return true;
+        }
+        return false;
+    }
+
+    private static <T> T toResponseStatus(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        if (cause instanceof NotFoundException) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, cause.getMessage());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many reads in progress");
+        }
+        throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+}
@@ -1,51 +1,300 @@
 package game.controller;
 
+import game.cache.CacheStats;
+import game.cache.IdempotencyStore;
+import game.cache.MapCache;
+import game.config.MapBinaryMessageConverter;
+import game.dto.ImportResultDto;
+import game.dto.MapBatchDto;
+import game.dto.MapBatchRequestDto;
+import game.dto.MapBinaryFormat;
+import game.dto.MapDiffDto;
 import game.dto.MapDto;
+import game.dto.MapPageDto;
+import game.dto.RegionDto;
+import game.dto.SimilarMapDto;
 import game.exception.BadRequestException;
+import game.exception.ConflictException;
 import game.exception.NotFoundException;
+import game.restservice.MapBatchService;
+import game.restservice.MapCatalogService;
+import game.restservice.MapImportService;
+import game.restservice.MapRegionService;
+import game.restservice.MapSearchService;
+import game.restservice.MapSimilarityService;
 import game.restservice.MapService;
+import game.restservice.MapVersionService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+// The map names and the lookup by name are served by MapReadController or AsyncMapReadController
 @RestController
 @RequestMapping("api/maps")
 public class GameController {
 
     private final MapService service;
+    private final MapImportService importService;
+    private final MapCatalogService catalogService;
+    private final MapRegionService regionService;
+    private final MapSimilarityService similarityService;
+    private final MapSearchService searchService;
+    private final MapVersionService versionService;
+    private final MapBatchService batchService;
+    private final MapCache cache;
+    private final IdempotencyStore idempotencyStore;
 
-    public GameController(MapService service) {
+    public GameController(MapService service, MapImportService importService,
+                          MapCatalogService catalogService, MapRegionService regionService,
+                          MapSimilarityService similarityService, MapSearchService searchService,
+                          MapVersionService versionService,
+                          MapBatchService batchService, MapCache cache, IdempotencyStore idempotencyStore) {
         this.service = service;
+        this.importService = importService;
+        this.catalogService = catalogService;
+        this.regionService = regionService;
+        this.similarityService = similarityService;
+        this.searchService = searchService;
+        this.versionService = versionService;
+        this.batchService = batchService;
+        this.cache = cache;
+        this.idempotencyStore = idempotencyStore;
     }
 
-    // GET /maps -> return a list with map names
-    @GetMapping
-    public ResponseEntity<List<String>> getMapNames() {
-        return ResponseEntity.ok(service.getMapNames());
+    // GET /maps/page?after=...&limit=...&tiles=... -> a page of maps sorted by name, after the given cursor
+    @GetMapping("/page")
+    public ResponseEntity<MapPageDto> getMapPage(@RequestParam(value = "after", required = false) String after,
+                                                 @RequestParam(value = "limit", required = false) Integer limit,
+                                                 @RequestParam(value = "tiles", defaultValue = "false") boolean tiles) {
+        try {
+            return ResponseEntity.ok(catalogService.getPage(after, limit, tiles));
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+
+    // GET /maps/page in the binary format, the cursor of the next page is sent in the Next-Cursor header
+    @GetMapping(value = "/page", produces = MapBinaryFormat.MEDIA_TYPE)
+    public ResponseEntity<List<MapDto>> getBinaryMapPage(@RequestParam(value = "after", required = false) String after,
+                                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                                         @RequestParam(value = "tiles", defaultValue = "false") boolean tiles) {
+        MapPageDto page = getMapPage(after, limit, tiles).getBody();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header("Next-Cursor", page.next());
+        }
+        return response.body(page.items());
+    }
+
+    // GET /maps/export?tiles=... -> every map streamed as NDJSON, with the tiles the chunked maps are left out and counted
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMaps(@RequestParam(value = "tiles", defaultValue = "true") boolean tiles) {
+        return exportResponse(tiles)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> catalogService.export(out, tiles));
+    }
+
+    // GET /maps/export in the binary batch format
+    @GetMapping(value = "/export", produces = MapBinaryFormat.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportBinaryMaps(@RequestParam(value = "tiles", defaultValue = "true") boolean tiles) {
+        return exportResponse(tiles)
+                .contentType(MapBinaryMessageConverter.MEDIA_TYPE)
+                .body(out -> catalogService.exportBinary(out, tiles));
+    }
+
+    private ResponseEntity.BodyBuilder exportResponse(boolean tiles) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tiles) {
+            response.header("Omitted-Maps", Integer.toString(catalogService.countChunkedMaps()));
+        }
+        return response;
+    }
+
+    // GET /maps/region?name=...&x=...&y=...&width=...&height=... -> the chunks of a map overlapping a viewport
+    @GetMapping("/region")
+    public ResponseEntity<RegionDto> getMapRegion(@RequestParam("name") String name,
+                                                  @RequestParam("x") int x,
+                                                  @RequestParam("y") int y,
+                                                  @RequestParam("width") int width,
+                                                  @RequestParam("height") int height) {
+        try {
+            return ResponseEntity.ok(regionService.getRegion(name, x, y, width, height));
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+
+    // GET /maps/similar?name=...&maxDistance=...&limit=... -> maps with nearly the same tiles, up to a rotation or a reflection
+    @GetMapping("/similar")
+    public ResponseEntity<List<SimilarMapDto>> getSimilarMaps(@RequestParam("name") String name,
+                                                              @RequestParam(value = "maxDistance", required = false) Integer maxDistance,
+                                                              @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(similarityService.findSimilar(name, maxDistance, limit));
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+
+    // GET /maps/search?minWaterTiles=...&maxPlainTiles=...&sort=...&order=...&page=...&limit=...
+    // -> maps filtered and sorted on their composition statistics, without their tiles
+    @GetMapping("/search")
+    public ResponseEntity<List<MapDto>> searchMaps(@RequestParam Map<String, String> params) {
+        Map<String, String> filters = new HashMap<>(params);
+        String sort = filters.remove("sort");
+        String order = filters.remove("order");
+        try {
+            Integer page = parseInteger(filters.remove("page"), "page");
+            Integer limit = parseInteger(filters.remove("limit"), "limit");
+            return ResponseEntity.ok(searchService.search(filters, sort, order, page, limit));
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+
+    // GET /maps/versions?name=...&version=... -> a map with the tiles of one of its versions
+    @GetMapping("/versions")
+    public ResponseEntity<MapDto> getMapVersion(@RequestParam("name") String name, @RequestParam("version") int version) {
+        try {
+            MapDto dto = versionService.getMapVersion(name, version);
+            // A version never changes once saved
+            return ResponseEntity.ok().eTag(MapReadController.etag(dto, false)).body(dto);
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        }
     }
 
-    // GET /maps/by-name?name=... -> search a map by its name
-    @GetMapping("/by-name")
-    public ResponseEntity<MapDto> getMapByName(@RequestParam("name") String name) {
+    // GET /maps/diff?name=...&from=...&to=... -> the tiles changed between two versions of a map
+    @GetMapping("/diff")
+    public ResponseEntity<MapDiffDto> getMapDiff(@RequestParam("name") String name,
+                                                 @RequestParam("from") int from,
+                                                 @RequestParam("to") int to) {
         try {
-            MapDto dto = service.getMapByName(name);
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.ok(versionService.diff(name, from, to));
         } catch (NotFoundException exception) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
         }
     }
 
-    // POST /maps -> create a map
+    private static Integer parseInteger(String value, String name) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("The " + name + " must be an integer");
+        }
+    }
+
+    // GET /maps/cache-stats -> hit and miss counters of the map cache
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return ResponseEntity.ok(cache.getStats());
+    }
+
+    // POST /maps?rejectDuplicates=... -> create a map, retries sent with the same Idempotency-Key get the first response
     @PostMapping
-    public ResponseEntity<MapDto> saveMap(@RequestBody MapDto mapDto) {
+    public ResponseEntity<MapDto> saveMap(@RequestBody MapDto mapDto,
+                                          @RequestParam(value = "rejectDuplicates", required = false) Boolean rejectDuplicates,
+                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createMap(mapDto, rejectDuplicates);
+        }
+        return idempotencyStore.execute(idempotencyKey, fingerprint(mapDto, rejectDuplicates),
+                () -> createMap(mapDto, rejectDuplicates));
+    }
+
+    // SHA-256 of the request content, the JSON and binary forms of the same map giving the same digest
+    private static byte[] fingerprint(MapDto mapDto, Boolean rejectDuplicates) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+        digest.update(String.valueOf(mapDto.getName()).getBytes(StandardCharsets.UTF_8));
+        List<Integer> tiles = mapDto.getTiles() != null || mapDto.getGrid() == null
+                ? mapDto.getTiles()
+                : mapDto.getGrid().asList();
+        ByteBuffer fields = ByteBuffer.allocate(4 * Integer.BYTES);
+        fields.putInt(mapDto.getWidth() == null ? -1 : mapDto.getWidth());
+        fields.putInt(mapDto.getHeight() == null ? -1 : mapDto.getHeight());
+        fields.putInt(rejectDuplicates == null ? -1 : rejectDuplicates ? 1 : 0);
+        fields.putInt(tiles == null ? -1 : tiles.size());
+        digest.update(fields.array());
+        if (tiles != null) {
+            ByteBuffer values = ByteBuffer.allocate(4096 * Integer.BYTES);
+            for (Integer tile : tiles) {
+                if (!values.hasRemaining()) {
+                    digest.update(values.flip());
+                    values.clear();
+                }
+                values.putInt(tile == null ? -1 : tile);
+            }
+            digest.update(values.flip());
+        }
+        return digest.digest();
+    }
+
+    private ResponseEntity<MapDto> createMap(MapDto mapDto, Boolean rejectDuplicates) {
         try {
-            MapDto savedMap = service.saveMap(mapDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedMap);
+            MapDto savedMap = rejectDuplicates == null
+                    ? service.saveMap(mapDto)
+                    : service.saveMap(mapDto, rejectDuplicates);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(MapReadController.etag(savedMap, false)).body(savedMap);
         } catch (BadRequestException exception) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
         }
     }
+
+    // PUT /maps -> replace the tiles of a map, as its next version, 409 when the version sent is not the current one
+    @PutMapping
+    public ResponseEntity<MapDto> updateMap(@RequestBody MapDto mapDto) {
+        try {
+            MapDto updated = versionService.updateMap(mapDto);
+            return ResponseEntity.ok().eTag(MapReadController.etag(updated, false)).body(updated);
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        } catch (ConflictException exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, exception.getMessage());
+        }
+    }
+
+    // POST /maps/batch -> the maps with the given names or ids in one response, with the names and ids not found
+    @PostMapping("/batch")
+    public ResponseEntity<MapBatchDto> getMaps(@RequestBody MapBatchRequestDto request) {
+        try {
+            return ResponseEntity.ok(batchService.getMaps(request));
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+
+    // POST /maps/import -> bulk import of a JSON array or an NDJSON stream of maps
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportResultDto> importMaps(InputStream body) {
+        return ResponseEntity.ok(importService.importMaps(body));
+    }
+
+    // POST /maps/import of a batch of maps in the binary format
+    @PostMapping(value = "/import", consumes = MapBinaryFormat.MEDIA_TYPE)
+    public ResponseEntity<ImportResultDto> importBinaryMaps(InputStream body) {
+        return ResponseEntity.ok(importService.importBinaryMaps(body));
+    }
 }
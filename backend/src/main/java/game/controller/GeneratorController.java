@@ -0,0 +1,31 @@
+package game.controller;
+
+import game.dto.GenerateRequestDto;
+import game.dto.GenerateResultDto;
+import game.exception.BadRequestException;
+import game.generator.GeneratorService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("api/generator")
+public class GeneratorController {
+
+    private final GeneratorService service;
+
+    public GeneratorController(GeneratorService service) {
+        this.service = service;
+    }
+
+    // POST /generator -> a pack of random maps from a seed, saved in the catalog when asked
+    @PostMapping
+    public ResponseEntity<GenerateResultDto> generate(@RequestBody GenerateRequestDto request) {
+        try {
+            return ResponseEntity.ok(service.generate(request));
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package game.controller;
+
+import game.dto.LeaderboardEntryDto;
+import game.dto.ScoreSubmissionDto;
+import game.exception.BadRequestException;
+import game.exception.ConflictException;
+import game.exception.NotFoundException;
+import game.leaderboard.LeaderboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("api/leaderboards")
+public class LeaderboardController {
+
+    private final LeaderboardService service;
+
+    public LeaderboardController(LeaderboardService service) {
+        this.service = service;
+    }
+
+    // GET /leaderboards/{mapName}?limit= -> best players of a map
+    @GetMapping("{mapName}")
+    public ResponseEntity<List<LeaderboardEntryDto>> top(@PathVariable String mapName,
+                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(handle(() -> service.top(mapName, limit)));
+    }
+
+    // GET /leaderboards/{mapName}/players/{playerName} -> rank and best score of a player
+    @GetMapping("{mapName}/players/{playerName}")
+    public ResponseEntity<LeaderboardEntryDto> rank(@PathVariable String mapName, @PathVariable String playerName) {
+        return ResponseEntity.ok(handle(() -> service.rank(mapName, playerName)));
+    }
+
+    // POST /leaderboards/{mapName} -> submit the score of a game session
+    @PostMapping("{mapName}")
+    public ResponseEntity<LeaderboardEntryDto> submit(@PathVariable String mapName,
+                                                      @RequestBody ScoreSubmissionDto submission) {
+        return ResponseEntity.ok(handle(() -> service.submit(mapName, submission)));
+    }
+
+    private static <T> T handle(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        } catch (ConflictException exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package game.controller;
+
+import game.dto.MapBinaryFormat;
+import game.dto.MapDto;
+import game.model.ContentHash;
+import game.exception.NotFoundException;
+import game.restservice.MapService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+// Reads on the request thread, the default read path (game.maps.read-path=blocking)
+@RestController
+@RequestMapping("api/maps")
+@ConditionalOnProperty(name = "game.maps.read-path", havingValue = "blocking", matchIfMissing = true)
+public class MapReadController {
+
+    private final MapService service;
+
+    public MapReadController(MapService service) {
+        this.service = service;
+    }
+
+    // GET /maps -> return a list with map names, 304 when the If-None-Match ETag is still current
+    @GetMapping
+    public ResponseEntity<List<String>> getMapNames(WebRequest request) {
+        String etag = service.getMapNamesVersion();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(service.getMapNames());
+    }
+
+    // GET /maps/by-name?name=... -> search a map by its name, 304 when the If-None-Match ETag is still current
+    @GetMapping("/by-name")
+    public ResponseEntity<MapDto> getMapByName(@RequestParam("name") String name, WebRequest request) {
+        return getMap(name, request, false);
+    }
+
+    // GET /maps/by-name in the binary format, with an ETag of its own
+    @GetMapping(value = "/by-name", produces = MapBinaryFormat.MEDIA_TYPE)
+    public ResponseEntity<MapDto> getBinaryMapByName(@RequestParam("name") String name, WebRequest request) {
+        return getMap(name, request, true);
+    }
+
+    private ResponseEntity<MapDto> getMap(String name, WebRequest request, boolean binary) {
+        try {
+            // A revalidation is answered from the stored hash and version, without loading the tiles
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                String hash = service.getVersionedHash(name);
+                if (hash != null && request.checkNotModified(etag(hash, binary))) {
+                    return null;
+                }
+            }
+            MapDto dto = service.getMapByName(name);
+            String etag = etag(dto, binary);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(dto);
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        }
+    }
+
+    // The JSON and binary representations differ in bytes, so they get different strong ETags
+    static String etag(String versionedHash, boolean binary) {
+        return binary ? versionedHash + "-binary" : versionedHash;
+    }
+
+    static String etag(MapDto dto, boolean binary) {
+        return etag(ContentHash.versioned(dto.getContentHash(), dto.getVersion()), binary);
+    }
+}
@@ -0,0 +1,60 @@
+package game.controller;
+
+import game.dto.MeterDto;
+import game.metrics.Counter;
+import game.metrics.Gauge;
+import game.metrics.Meter;
+import game.metrics.MetricsRegistry;
+import game.metrics.PrometheusFormat;
+import game.metrics.Timer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Same paths as the Spring Boot actuator, so that a scraper does not have to change if it is adopted
+@RestController
+@RequestMapping("actuator")
+public class MetricsController {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final MetricsRegistry registry;
+
+    public MetricsController(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    // GET /actuator/metrics -> every meter with its current measurements
+    @GetMapping("/metrics")
+    public ResponseEntity<List<MeterDto>> getMetrics() {
+        return ResponseEntity.ok(registry.getMeters().stream().map(this::toDto).toList());
+    }
+
+    // GET /actuator/prometheus -> every meter in the Prometheus text format
+    @GetMapping("/prometheus")
+    public ResponseEntity<String> getPrometheusMetrics() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(PrometheusFormat.CONTENT_TYPE))
+                .body(PrometheusFormat.write(registry.getMeters()));
+    }
+
+    private MeterDto toDto(Meter meter) {
+        Map<String, Number> measurements = new LinkedHashMap<>();
+        if (meter instanceof Timer timer) {
+            measurements.put("count", timer.count());
+            measurements.put("total", timer.totalNanos() / NANOS_PER_MILLI);
+            measurements.put("max", timer.maxNanos() / NANOS_PER_MILLI);
+            measurements.put("p50", timer.quantileNanos(0.5) / NANOS_PER_MILLI);
+            measurements.put("p99", timer.quantileNanos(0.99) / NANOS_PER_MILLI);
+        } else if (meter instanceof Counter counter) {
+            measurements.put("count", counter.count());
+        } else if (meter instanceof Gauge gauge) {
+            measurements.put("value", gauge.value());
+        }
+        return new MeterDto(meter.getId().name(), meter.getType().name(), meter.getId().tags(), measurements);
+    }
+}
@@ -0,0 +1,34 @@
+package game.controller;
+
+import game.dto.ScoreRequestDto;
+import game.dto.ScoreResultDto;
+import game.exception.BadRequestException;
+import game.exception.NotFoundException;
+import game.scoring.ScoringService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("api/scores")
+public class ScoreController {
+
+    private final ScoringService service;
+
+    public ScoreController(ScoringService service) {
+        this.service = service;
+    }
+
+    // POST /scores -> replay a list of moves on a stored map and compute its score
+    @PostMapping
+    public ResponseEntity<ScoreResultDto> score(@RequestBody ScoreRequestDto request) {
+        try {
+            return ResponseEntity.ok(service.score(request));
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package game.controller;
+
+import game.dto.MoveDto;
+import game.dto.SessionDto;
+import game.dto.SessionRequestDto;
+import game.exception.BadRequestException;
+import game.exception.NotFoundException;
+import game.session.SessionService;
+import game.session.TooManySessionsException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("api/sessions")
+public class SessionController {
+
+    private final SessionService service;
+
+    public SessionController(SessionService service) {
+        this.service = service;
+    }
+
+    // POST /sessions -> start a game on a stored map
+    @PostMapping
+    public ResponseEntity<SessionDto> create(@RequestBody SessionRequestDto request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(handle(() -> service.create(request.mapName())));
+    }
+
+    // GET /sessions/{id} -> state of a game
+    @GetMapping("{id}")
+    public ResponseEntity<SessionDto> get(@PathVariable String id) {
+        return ResponseEntity.ok(handle(() -> service.get(id)));
+    }
+
+    // GET /sessions/{id}/replay?moves= -> state of a game after its first moves, read from the move log
+    @GetMapping("{id}/replay")
+    public ResponseEntity<SessionDto> replay(@PathVariable String id, @RequestParam(required = false) Integer moves) {
+        return ResponseEntity.ok(handle(() -> service.replay(id, moves)));
+    }
+
+    // POST /sessions/{id}/moves -> place an animal
+    @PostMapping("{id}/moves")
+    public ResponseEntity<SessionDto> place(@PathVariable String id, @RequestBody MoveDto move) {
+        return ResponseEntity.ok(handle(() -> service.place(id, move)));
+    }
+
+    // POST /sessions/{id}/undo -> take back the last placement
+    @PostMapping("{id}/undo")
+    public ResponseEntity<SessionDto> undo(@PathVariable String id) {
+        return ResponseEntity.ok(handle(() -> service.undo(id)));
+    }
+
+    // POST /sessions/{id}/redo -> place again the last placement taken back
+    @PostMapping("{id}/redo")
+    public ResponseEntity<SessionDto> redo(@PathVariable String id) {
+        return ResponseEntity.ok(handle(() -> service.redo(id)));
+    }
+
+    // DELETE /sessions/{id} -> end a game
+    @DeleteMapping("{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        handle(() -> {
+            service.delete(id);
+            return null;
+        });
+        return ResponseEntity.noContent().build();
+    }
+
+    private static <T> T handle(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        } catch (TooManySessionsException exception) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        }
+    }
+}
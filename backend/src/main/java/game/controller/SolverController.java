@@ -0,0 +1,37 @@
+package game.controller;
+
+import game.dto.SolveRequestDto;
+import game.dto.SolveResultDto;
+import game.exception.BadRequestException;
+import game.exception.NotFoundException;
+import game.solver.SolverBusyException;
+import game.solver.SolverService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("api/solver")
+public class SolverController {
+
+    private final SolverService service;
+
+    public SolverController(SolverService service) {
+        this.service = service;
+    }
+
+    // POST /solver -> best placement of an inventory of animals on a stored map
+    @PostMapping
+    public ResponseEntity<SolveResultDto> solve(@RequestBody SolveRequestDto request) {
+        try {
+            return ResponseEntity.ok(service.solve(request));
+        } catch (NotFoundException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, exception.getMessage());
+        } catch (BadRequestException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
+        } catch (SolverBusyException exception) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.List;
+
+// x and y are the position of the top left tile of the chunk in the map, tiles are row by row
+public record ChunkDto(int x, int y, int width, int height, List<Integer> tiles) {
+}
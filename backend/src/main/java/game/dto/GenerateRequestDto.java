@@ -0,0 +1,12 @@
+package game.dto;
+
+import game.model.TileType;
+
+import java.util.List;
+import java.util.Map;
+
+// Every field is optional, a missing seed is drawn at random and returned in the result
+public record GenerateRequestDto(Long seed, Integer count, Integer width, Integer height,
+                                 Map<TileType, Double> proportions, Integer minClusterSize,
+                                 List<TileType> connected, String namePrefix, boolean save) {
+}
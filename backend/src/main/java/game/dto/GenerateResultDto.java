@@ -0,0 +1,10 @@
+package game.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// The maps are returned when they are not saved, the import result when they are
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GenerateResultDto(long seed, int count, List<MapDto> maps, ImportResultDto saved) {
+}
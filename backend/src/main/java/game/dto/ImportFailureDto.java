@@ -0,0 +1,4 @@
+package game.dto;
+
+public record ImportFailureDto(int index, String name, String reason) {
+}
@@ -0,0 +1,8 @@
+package game.dto;
+
+import java.util.List;
+
+// Only the maps that were not created are listed in failures, up to a maximum past which they are only counted
+public record ImportResultDto(int received, int created, int duplicates, int invalid,
+                              List<ImportFailureDto> failures, int omittedFailures, String error) {
+}
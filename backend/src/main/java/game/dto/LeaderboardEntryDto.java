@@ -0,0 +1,4 @@
+package game.dto;
+
+public record LeaderboardEntryDto(int rank, String playerName, int score) {
+}
@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.List;
+
+// The maps found, names first then ids, in the order of the request
+public record MapBatchDto(List<MapDto> maps, List<String> missingNames, List<Integer> missingIds) {
+}
@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.List;
+
+// Either list may be null
+public record MapBatchRequestDto(List<String> names, List<Integer> ids) {
+}
@@ -0,0 +1,89 @@
+package game.dto;
+
+import game.model.ChunkLayout;
+import game.model.MapEntity;
+import game.model.TileGrid;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Compact binary form of maps, served as application/vnd.game.map.
+ *
+ * A map is written as its id (0 when absent), its name as an unsigned short
+ * byte length followed by the UTF-8 bytes, its width and height as unsigned
+ * shorts, a byte telling whether its tiles follow, then its tiles packed on
+ * 2 bits each, as they are stored. A batch is a sequence of maps up to the
+ * end of the stream. Integers are big-endian.
+ */
+public final class MapBinaryFormat {
+
+    public static final String MEDIA_TYPE = "application/vnd.game.map";
+
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private MapBinaryFormat() {}
+
+    public static void write(MapDto map, DataOutputStream out) throws IOException {
+        byte[] name = map.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Map name longer than " + MAX_NAME_LENGTH + " bytes");
+        }
+        out.writeInt(map.getId() == null ? 0 : map.getId());
+        out.writeShort(name.length);
+        out.write(name);
+        out.writeShort(map.getWidth() == null ? 0 : map.getWidth());
+        out.writeShort(map.getHeight() == null ? 0 : map.getHeight());
+
+        // Stored maps carry their packed tiles, only maps built from a list are packed here
+        TileGrid grid = map.getGrid();
+        if (grid == null && map.getTiles() != null) {
+            grid = TileGrid.of(map.getTiles());
+        }
+        out.writeBoolean(grid != null);
+        if (grid != null) {
+            grid.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads the next map of a stream. A width or height of 0 is read as absent,
+     * and tiles without a size are those of an 8x8 map.
+     *
+     * @return null at the end of the stream
+     * @throws IllegalArgumentException when the map is malformed
+     */
+    public static MapDto read(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) return null;
+        try {
+            int id = (first << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+            byte[] name = new byte[in.readUnsignedShort()];
+            in.readFully(name);
+            int width = in.readUnsignedShort();
+            int height = in.readUnsignedShort();
+            if (width > ChunkLayout.MAX_MAP_SIZE || height > ChunkLayout.MAX_MAP_SIZE) {
+                throw new IllegalArgumentException("A map is at most " + ChunkLayout.MAX_MAP_SIZE + " tiles wide and high");
+            }
+            Integer decodedId = id == 0 ? null : id;
+            String decodedName = new String(name, StandardCharsets.UTF_8);
+
+            if (!in.readBoolean()) {
+                MapDto map = new MapDto(decodedId, decodedName, (List<Integer>) null);
+                map.setWidth(width == 0 ? null : width);
+                map.setHeight(height == 0 ? null : height);
+                return map;
+            }
+            int tileWidth = width == 0 ? MapEntity.DEFAULT_SIZE : width;
+            int tileHeight = height == 0 ? MapEntity.DEFAULT_SIZE : height;
+            return new MapDto(decodedId, decodedName, tileWidth, tileHeight,
+                    TileGrid.readFrom(in, tileWidth * tileHeight));
+        } catch (EOFException exception) {
+            throw new IllegalArgumentException("Truncated map");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package game.dto;
+
+import java.util.List;
+
+public record MapDiffDto(String name, int fromVersion, int toVersion, List<TileChangeDto> changes) {
+}
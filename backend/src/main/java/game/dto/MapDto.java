@@ -1,11 +1,29 @@
 package game.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import game.model.TileGrid;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MapDto {
     private Integer id;
     private String name;
+    // 8x8 when absent
+    private Integer width;
+    private Integer height;
+    // Absent for the maps too large to be sent whole, their tiles are served by region
     private List<Integer> tiles;
+    // Composition of stored maps, ignored on creation
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private MapStatsDto stats;
+    // Packed tiles when the DTO was built from a stored map, null otherwise
+    private TileGrid grid;
+    private String contentHash;
+    // Version of the tiles of a stored map. When updating a map, the version the update is based on, if any
+    private Integer version;
 
     public MapDto() {}
 
@@ -15,6 +33,13 @@ public class MapDto {
         this.tiles = tiles;
     }
 
+    public MapDto(Integer id, String name, int width, int height, TileGrid grid) {
+        this(id, name, grid == null ? null : grid.asList());
+        this.width = width;
+        this.height = height;
+        this.grid = grid;
+    }
+
     public Integer getId() {
         return id;
     }
@@ -31,12 +56,59 @@ public class MapDto {
         this.name = name;
     }
 
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
     public List<Integer> getTiles() {
         return tiles;
     }
 
     public void setTiles(List<Integer> tiles) {
         this.tiles = tiles;
+        this.grid = null;
+    }
+
+    public MapStatsDto getStats() {
+        return stats;
+    }
+
+    public void setStats(MapStatsDto stats) {
+        this.stats = stats;
+    }
+
+    @JsonIgnore
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    @JsonIgnore
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
     }
 
     @Override
@@ -44,6 +116,8 @@ public class MapDto {
         return "MapDto{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
+                ", width=" + width +
+                ", height=" + height +
                 ", tiles=" + tiles +
                 '}';
     }
@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.List;
+
+// next is the cursor of the following page, null on the last page
+public record MapPageDto(List<MapDto> items, String next) {
+}
@@ -0,0 +1,15 @@
+package game.dto;
+
+import game.model.MapStats;
+
+public record MapStatsDto(int plainTiles, int treeTiles, int waterTiles,
+                          int largestPlainArea, int largestTreeArea, int largestWaterArea,
+                          int plainTreeEdges, int plainWaterEdges, int treeWaterEdges) {
+
+    public static MapStatsDto of(MapStats stats) {
+        if (stats == null) return null;
+        return new MapStatsDto(stats.getPlainTiles(), stats.getTreeTiles(), stats.getWaterTiles(),
+                stats.getLargestPlainArea(), stats.getLargestTreeArea(), stats.getLargestWaterArea(),
+                stats.getPlainTreeEdges(), stats.getPlainWaterEdges(), stats.getTreeWaterEdges());
+    }
+}
@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.Map;
+
+// Durations of the timers are in milliseconds, the quantiles are bucket upper bounds
+public record MeterDto(String name, String type, Map<String, String> tags, Map<String, Number> measurements) {
+}
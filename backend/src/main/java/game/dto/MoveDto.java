@@ -0,0 +1,6 @@
+package game.dto;
+
+import game.scoring.Animal;
+
+public record MoveDto(Animal animal, int x, int y) {
+}
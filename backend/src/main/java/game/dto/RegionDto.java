@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.List;
+
+// Chunks overlapping the requested viewport, whole, so they may extend past it
+public record RegionDto(String mapName, int width, int height, int chunkSize, List<ChunkDto> chunks) {
+}
@@ -0,0 +1,6 @@
+package game.dto;
+
+import java.util.List;
+
+public record ScoreRequestDto(String mapName, List<MoveDto> moves) {
+}
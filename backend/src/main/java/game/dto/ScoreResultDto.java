@@ -0,0 +1,4 @@
+package game.dto;
+
+public record ScoreResultDto(String mapName, int score, int turn, int scoreLimit, boolean gameOver, int[] moveScores) {
+}
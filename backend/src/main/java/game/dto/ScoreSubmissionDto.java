@@ -0,0 +1,4 @@
+package game.dto;
+
+public record ScoreSubmissionDto(String sessionId, String playerName) {
+}
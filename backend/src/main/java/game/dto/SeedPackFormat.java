@@ -0,0 +1,64 @@
+package game.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seed packs, the files of maps loaded at startup.
+ *
+ * A pack is the magic bytes "GMSP" and the format version as an unsigned
+ * short, followed by a batch of maps in the {@link MapBinaryFormat}. A pack
+ * only holds maps up to the chunk size, the larger maps being created one at
+ * a time. A pack can then be built from the binary export of a catalog,
+ * which leaves the chunked maps out:
+ * <pre>
+ * printf 'GMSP\0\1' > maps.pack
+ * curl -H 'Accept: application/vnd.game.map' localhost:4444/api/maps/export >> maps.pack
+ * </pre>
+ */
+public final class SeedPackFormat {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = "GMSP".getBytes(StandardCharsets.US_ASCII);
+
+    private SeedPackFormat() {}
+
+    public static void write(List<MapDto> maps, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        for (MapDto map : maps) {
+            MapBinaryFormat.write(map, data);
+        }
+        data.flush();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the content is not a pack of a known version, or a map is malformed
+     */
+    public static List<MapDto> read(byte[] content) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+        byte[] magic = new byte[MAGIC.length];
+        if (in.read(magic) != MAGIC.length || !Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("Not a seed pack");
+        }
+        int version = in.readUnsignedShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported seed pack format " + version);
+        }
+        List<MapDto> maps = new ArrayList<>();
+        MapDto map;
+        while ((map = MapBinaryFormat.read(in)) != null) {
+            maps.add(map);
+        }
+        return maps;
+    }
+}
@@ -0,0 +1,11 @@
+package game.dto;
+
+import game.scoring.Animal;
+
+import java.util.List;
+import java.util.Map;
+
+public record SessionDto(String id, String mapName, int score, int turn, int scoreLimit, boolean gameOver,
+                         Map<Animal, Integer> inventory, List<MoveDto> moves, int[] moveScores,
+                         boolean canUndo, boolean canRedo) {
+}
@@ -0,0 +1,4 @@
+package game.dto;
+
+public record SessionRequestDto(String mapName) {
+}
@@ -0,0 +1,5 @@
+package game.dto;
+
+// distance is the number of tiles that differ, under the closest rotation or reflection
+public record SimilarMapDto(String name, int distance) {
+}
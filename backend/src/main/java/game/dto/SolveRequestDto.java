@@ -0,0 +1,4 @@
+package game.dto;
+
+public record SolveRequestDto(String mapName, int bears, int fish, int foxes, Long timeBudgetMillis) {
+}
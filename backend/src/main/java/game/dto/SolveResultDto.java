@@ -0,0 +1,7 @@
+package game.dto;
+
+import java.util.List;
+
+public record SolveResultDto(String mapName, int score, List<MoveDto> moves, boolean complete,
+                             long nodes, long elapsedMillis) {
+}
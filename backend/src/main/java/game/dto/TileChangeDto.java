@@ -0,0 +1,4 @@
+package game.dto;
+
+public record TileChangeDto(int index, int x, int y, int from, int to) {
+}
@@ -0,0 +1,5 @@
+package game.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) { super(message); }
+}
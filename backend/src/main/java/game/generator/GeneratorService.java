@@ -0,0 +1,192 @@
+package game.generator;
+
+import game.dto.GenerateRequestDto;
+import game.dto.GenerateResultDto;
+import game.dto.ImportResultDto;
+import game.dto.MapDto;
+import game.exception.BadRequestException;
+import game.model.ChunkLayout;
+import game.model.MapEntity;
+import game.model.TileGrid;
+import game.model.TileType;
+import game.restservice.MapImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Generates packs of maps in parallel. The maps are generated by blocks, each
+ * block split across the cores, and saved block by block through the bulk
+ * import when asked, so that a large pack is never held in memory at once.
+ * A map that cannot meet the constraints stops the import of a pack, the
+ * maps saved before it being reported in the result with the error.
+ *
+ * The seed of each map is drawn in order from the seed of the pack, map i of a
+ * pack is then the same whatever the parallelism.
+ */
+@Service
+public class GeneratorService {
+
+    private static final double[] DEFAULT_PROPORTIONS = {0.4, 0.35, 0.25};
+
+    private final MapImportService importService;
+    private final ForkJoinPool pool;
+    private final int maxCount;
+    private final int blockSize;
+    private final int maxAttempts;
+
+    public GeneratorService(MapImportService importService,
+                            @Value("${game.generator.parallelism:0}") int parallelism,
+                            @Value("${game.generator.max-count:10000}") int maxCount,
+                            @Value("${game.generator.block-size:500}") int blockSize,
+                            @Value("${game.generator.max-attempts:20}") int maxAttempts) {
+        this.importService = importService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxCount = maxCount;
+        this.blockSize = blockSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public GenerateResultDto generate(GenerateRequestDto request) {
+        int count = request.count() == null ? 1 : request.count();
+        if (count < 1 || count > maxCount) {
+            throw new BadRequestException("Count must be between 1 and " + maxCount);
+        }
+        MapGenerator.Constraints constraints = constraints(request);
+        long seed = request.seed() != null ? request.seed() : new SplittableRandom().nextLong();
+        String prefix = request.namePrefix() != null ? request.namePrefix().trim() : "generated-" + seed;
+        if (prefix.isEmpty()) {
+            throw new BadRequestException("Name prefix must not be blank");
+        }
+
+        GeneratedMaps maps = new GeneratedMaps(constraints, seed, count, prefix);
+        if (request.save()) {
+            ImportResultDto saved = importService.importMaps(maps);
+            return new GenerateResultDto(seed, count, null, saved);
+        }
+        List<MapDto> generated = new ArrayList<>(count);
+        maps.forEach(generated::add);
+        return new GenerateResultDto(seed, count, generated, null);
+    }
+
+    private MapGenerator.Constraints constraints(GenerateRequestDto request) {
+        int width = request.width() == null ? MapEntity.DEFAULT_SIZE : request.width();
+        int height = request.height() == null ? MapEntity.DEFAULT_SIZE : request.height();
+        if (width < 1 || width > ChunkLayout.CHUNK_SIZE || height < 1 || height > ChunkLayout.CHUNK_SIZE) {
+            throw new BadRequestException("Width and height must be between 1 and " + ChunkLayout.CHUNK_SIZE);
+        }
+
+        double[] proportions = DEFAULT_PROPORTIONS.clone();
+        if (request.proportions() != null && !request.proportions().isEmpty()) {
+            proportions = new double[TileType.COUNT];
+            for (Map.Entry<TileType, Double> entry : request.proportions().entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null || !(entry.getValue() >= 0)) {
+                    throw new BadRequestException("Proportions must be positive numbers by tile type");
+                }
+                proportions[entry.getKey().ordinal()] = entry.getValue();
+            }
+            if (!(proportions[0] + proportions[1] + proportions[2] > 0)) {
+                throw new BadRequestException("At least one proportion must be positive");
+            }
+        }
+
+        int minClusterSize = request.minClusterSize() == null ? 1 : request.minClusterSize();
+        int[] counts = MapGenerator.tileCounts(proportions, width * height);
+        for (int type = 0; type < TileType.COUNT; type++) {
+            if (counts[type] > 0 && counts[type] < minClusterSize) {
+                throw new BadRequestException("A map has only " + counts[type] + " " + TileType.values()[type]
+                        + " tiles, fewer than the minimum cluster size");
+            }
+        }
+
+        boolean[] connected = new boolean[TileType.COUNT];
+        if (request.connected() != null) {
+            for (TileType type : request.connected()) {
+                connected[type.ordinal()] = true;
+            }
+        }
+        return new MapGenerator.Constraints(width, height, proportions, Math.max(minClusterSize, 1),
+                connected, maxAttempts);
+    }
+
+    /**
+     * The maps of a pack, generated block by block as they are iterated. Can only be iterated once.
+     */
+    private final class GeneratedMaps implements Iterable<MapDto> {
+        private final MapGenerator.Constraints constraints;
+        private final SplittableRandom seeds;
+        private final int count;
+        private final String prefix;
+
+        private GeneratedMaps(MapGenerator.Constraints constraints, long seed, int count, String prefix) {
+            this.constraints = constraints;
+            this.seeds = new SplittableRandom(seed);
+            this.count = count;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Iterator<MapDto> iterator() {
+            return new Iterator<>() {
+                private List<MapDto> block = List.of();
+                private int start;
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return start + position < count;
+                }
+
+                @Override
+                public MapDto next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    if (position == block.size()) {
+                        start += block.size();
+                        block = generateBlock(start, Math.min(blockSize, count - start));
+                        position = 0;
+                    }
+                    return block.get(position++);
+                }
+            };
+        }
+
+        private List<MapDto> generateBlock(int start, int size) {
+            long[] blockSeeds = new long[size];
+            for (int i = 0; i < size; i++) {
+                blockSeeds[i] = seeds.nextLong();
+            }
+            // One generator per task and a task per worker, so that the buffers are reused across its maps
+            TileGrid[] tiles = new TileGrid[size];
+            int tasks = Math.min(pool.getParallelism(), size);
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task -> {
+                MapGenerator generator = new MapGenerator(constraints);
+                for (int i = task * size / tasks; i < (task + 1) * size / tasks; i++) {
+                    tiles[i] = generator.generate(blockSeeds[i]);
+                }
+            })).join();
+            List<MapDto> maps = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (tiles[i] == null) {
+                    throw new BadRequestException("Could not generate map #" + (start + i) + " meeting the constraints");
+                }
+                maps.add(new MapDto(null, prefix + "-" + (start + i), constraints.width(), constraints.height(),
+                        tiles[i]));
+            }
+            return maps;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package game.generator;
+
+import game.model.TileGrid;
+import game.model.TileType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates random maps meeting a set of constraints, the same seed always
+ * giving the same map.
+ *
+ * The tiles are first laid out with the exact count of each type asked by the
+ * proportions, then shuffled. Random pairs of tiles are then swapped when the
+ * swap does not lower the number of neighbours of the same type, which keeps
+ * the proportions and grows the tiles into clusters. The constraints are
+ * checked after each round of swaps, and the map starts over from a new
+ * shuffle when they are still not met after a few rounds.
+ *
+ * A generator is not thread safe, it reuses its buffers from one map to the next.
+ */
+public class MapGenerator {
+
+    private static final int ROUNDS_PER_ATTEMPT = 8;
+    // Swaps tried per tile in a round
+    private static final int SWAPS_PER_TILE = 4;
+
+    private final Constraints constraints;
+    private final int width;
+    private final int height;
+    private final int[] counts;
+
+    private final int[] tiles;
+    private final int[] clusters;
+    private final int[] stack;
+
+    public MapGenerator(Constraints constraints) {
+        this.constraints = constraints;
+        this.width = constraints.width();
+        this.height = constraints.height();
+        this.counts = tileCounts(constraints.proportions(), width * height);
+        this.tiles = new int[width * height];
+        this.clusters = new int[width * height];
+        this.stack = new int[width * height];
+    }
+
+    /**
+     * Constraints on the generated maps.
+     *
+     * @param proportions    share of each tile type, by ordinal, they are normalized to their sum
+     * @param minClusterSize smallest allowed group of adjacent tiles of the same type
+     * @param connected      for each tile type, whether all its tiles must form a single group
+     * @param maxAttempts    shuffles tried before giving up on a map
+     */
+    public record Constraints(int width, int height, double[] proportions, int minClusterSize,
+                              boolean[] connected, int maxAttempts) {
+    }
+
+    /**
+     * @return the tiles of the map, or null when the constraints could not be met
+     */
+    public TileGrid generate(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int attempt = 0; attempt < constraints.maxAttempts(); attempt++) {
+            shuffle(random);
+            for (int round = 0; round < ROUNDS_PER_ATTEMPT; round++) {
+                swapRound(random);
+                if (satisfied()) {
+                    return toGrid();
+                }
+            }
+        }
+        return null;
+    }
+
+    // Exact number of tiles of each type, the rounding remainder going to the largest shares
+    static int[] tileCounts(double[] proportions, int tileCount) {
+        double total = Arrays.stream(proportions).sum();
+        int[] counts = new int[proportions.length];
+        double[] remainders = new double[proportions.length];
+        int assigned = 0;
+        for (int type = 0; type < proportions.length; type++) {
+            double exact = proportions[type] / total * tileCount;
+            counts[type] = (int) exact;
+            remainders[type] = exact - counts[type];
+            assigned += counts[type];
+        }
+        while (assigned < tileCount) {
+            int largest = 0;
+            for (int type = 1; type < remainders.length; type++) {
+                if (remainders[type] > remainders[largest]) largest = type;
+            }
+            counts[largest]++;
+            remainders[largest] = -1;
+            assigned++;
+        }
+        return counts;
+    }
+
+    private void shuffle(SplittableRandom random) {
+        int index = 0;
+        for (int type = 0; type < counts.length; type++) {
+            Arrays.fill(tiles, index, index + counts[type], type);
+            index += counts[type];
+        }
+        for (int i = tiles.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tile = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = tile;
+        }
+    }
+
+    private void swapRound(SplittableRandom random) {
+        int swaps = tiles.length * SWAPS_PER_TILE;
+        for (int swap = 0; swap < swaps; swap++) {
+            int a = random.nextInt(tiles.length);
+            int b = random.nextInt(tiles.length);
+            int typeA = tiles[a];
+            int typeB = tiles[b];
+            if (typeA == typeB) continue;
+
+            int before = sameNeighbours(a, typeA) + sameNeighbours(b, typeB);
+            int after = sameNeighbours(a, typeB) + sameNeighbours(b, typeA);
+            // Adjacent tiles count each other as a neighbour of their future type
+            if (adjacent(a, b)) {
+                after -= 2;
+            }
+            if (after >= before) {
+                tiles[a] = typeB;
+                tiles[b] = typeA;
+            }
+        }
+    }
+
+    private int sameNeighbours(int index, int type) {
+        int x = index % width;
+        int y = index / width;
+        int same = 0;
+        if (x > 0 && tiles[index - 1] == type) same++;
+        if (x < width - 1 && tiles[index + 1] == type) same++;
+        if (y > 0 && tiles[index - width] == type) same++;
+        if (y < height - 1 && tiles[index + width] == type) same++;
+        return same;
+    }
+
+    private boolean adjacent(int a, int b) {
+        int distance = Math.abs(a - b);
+        return distance == width || (distance == 1 && Math.min(a, b) % width != width - 1);
+    }
+
+    private boolean satisfied() {
+        Arrays.fill(clusters, -1);
+        int[] groups = new int[TileType.COUNT];
+        for (int start = 0; start < tiles.length; start++) {
+            if (clusters[start] >= 0) continue;
+            int type = tiles[start];
+            if (++groups[type] > 1 && constraints.connected()[type]) return false;
+            if (fill(start, type) < constraints.minClusterSize()) return false;
+        }
+        return true;
+    }
+
+    // Flood fill of the group of tiles of the type containing the start tile, returns its size
+    private int fill(int start, int type) {
+        int size = 0;
+        int top = 0;
+        stack[top++] = start;
+        clusters[start] = start;
+        while (top > 0) {
+            int index = stack[--top];
+            size++;
+            int x = index % width;
+            int y = index / width;
+            if (x > 0) top = push(index - 1, type, start, top);
+            if (x < width - 1) top = push(index + 1, type, start, top);
+            if (y > 0) top = push(index - width, type, start, top);
+            if (y < height - 1) top = push(index + width, type, start, top);
+        }
+        return size;
+    }
+
+    private int push(int index, int type, int cluster, int top) {
+        if (clusters[index] < 0 && tiles[index] == type) {
+            clusters[index] = cluster;
+            stack[top++] = index;
+        }
+        return top;
+    }
+
+    private TileGrid toGrid() {
+        TileGrid grid = new TileGrid(tiles.length);
+        for (int i = 0; i < tiles.length; i++) {
+            grid.set(i, tiles[i]);
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,78 @@
+package game.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Best scores of the players of a map, kept sorted in a skip list.
+ * A submission only takes the lock of its player, reads take none: the top
+ * entries are the head of the list, and the rank of a player is the size of
+ * the list before its entry, which is linear in the rank. While a player's
+ * best score is replaced, the list briefly holds both of its entries, only
+ * the one recorded as the best of the player is read.
+ */
+public class Leaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::score).reversed()
+            .thenComparingLong(Entry::submittedAt)
+            .thenComparing(Entry::playerName);
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<String, Entry> bestByPlayer = new ConcurrentHashMap<>();
+
+    /**
+     * An entry, the earliest of equal scores ranking first.
+     *
+     * @param submittedAt submission time in epoch milliseconds
+     */
+    public record Entry(String playerName, int score, long submittedAt) {
+    }
+
+    /**
+     * Records the score if it beats the best score of the player.
+     *
+     * @return true if the score was recorded
+     */
+    public boolean submit(String playerName, int score, long submittedAt) {
+        Entry entry = new Entry(playerName, score, submittedAt);
+        Entry best = bestByPlayer.compute(playerName, (player, previous) -> {
+            if (previous != null && previous.score() >= score) return previous;
+            ranking.add(entry);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            return entry;
+        });
+        return best == entry;
+    }
+
+    public List<Entry> top(int limit) {
+        List<Entry> top = new ArrayList<>(Math.min(limit, ranking.size()));
+        for (Entry entry : ranking) {
+            if (top.size() == limit) break;
+            if (entry.equals(bestByPlayer.get(entry.playerName()))) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * @return the rank of the player, starting at 1, or 0 if the player has no score
+     */
+    public int rank(String playerName) {
+        Entry entry = bestByPlayer.get(playerName);
+        return entry == null ? 0 : ranking.headSet(entry).size() + 1;
+    }
+
+    public Entry get(String playerName) {
+        return bestByPlayer.get(playerName);
+    }
+
+    public int size() {
+        return bestByPlayer.size();
+    }
+}
@@ -0,0 +1,191 @@
+package game.leaderboard;
+
+import game.dto.LeaderboardEntryDto;
+import game.dto.MapDto;
+import game.dto.ScoreSubmissionDto;
+import game.dto.SessionDto;
+import game.exception.BadRequestException;
+import game.exception.ConflictException;
+import game.exception.NotFoundException;
+import game.metrics.MetricsRegistry;
+import game.model.ScoreEntity;
+import game.repository.ScoreRepository;
+import game.restservice.MapService;
+import game.session.SessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-map leaderboards. Each leaderboard is loaded from the database on its
+ * first use and then served from memory. The scores of the game sessions are
+ * submitted there, and the best scores are written to the database by a
+ * background task, in batches. A player submitting several times between
+ * two flushes is then written once. Only the games that are over are
+ * submitted, and submitting a game ends its session, so that a session is
+ * submitted once, under a single player name.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    private static final int MAX_PLAYER_NAME_LENGTH = 32;
+
+    private final MapService mapService;
+    private final SessionService sessionService;
+    private final ScoreRepository repository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    private final ConcurrentHashMap<Integer, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+    // Best scores not written yet
+    private final ConcurrentHashMap<ScoreEntity.Key, ScoreEntity> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public LeaderboardService(MapService mapService, SessionService sessionService, ScoreRepository repository,
+                              MetricsRegistry metrics,
+                              @Value("${game.leaderboard.flush-interval:1s}") Duration flushInterval,
+                              @Value("${game.leaderboard.default-limit:10}") int defaultLimit,
+                              @Value("${game.leaderboard.max-limit:100}") int maxLimit) {
+        this.mapService = mapService;
+        this.sessionService = sessionService;
+        this.repository = repository;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("leaderboard-flush-"));
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(),
+                flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        metrics.gauge("game.leaderboard.pending", pending::size);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Submits the score of a finished game session for its player, ending the session.
+     *
+     * @return the best entry of the player, which may be an earlier score
+     * @throws ConflictException if the session was already submitted
+     */
+    public LeaderboardEntryDto submit(String mapName, ScoreSubmissionDto submission) {
+        if (submission == null || submission.sessionId() == null) {
+            throw new BadRequestException("A session id is required");
+        }
+        String playerName = validatePlayerName(submission.playerName());
+        SessionDto current = sessionService.get(submission.sessionId());
+        if (!current.mapName().equals(mapName)) {
+            throw new BadRequestException("Session " + current.id() + " is played on " + current.mapName());
+        }
+        int mapId = mapId(mapName);
+        SessionDto session = sessionService.finish(submission.sessionId());
+
+        Leaderboard leaderboard = leaderboard(mapId);
+        Instant now = Instant.now();
+        if (leaderboard.submit(playerName, session.score(), now.toEpochMilli())) {
+            ScoreEntity score = new ScoreEntity(mapId, playerName, session.score(), now);
+            pending.merge(new ScoreEntity.Key(mapId, playerName), score,
+                    (previous, next) -> next.getScore() > previous.getScore() ? next : previous);
+        }
+        return entry(leaderboard, playerName);
+    }
+
+    public List<LeaderboardEntryDto> top(String mapName, Integer limit) {
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1 || size > maxLimit) {
+            throw new BadRequestException("The limit must be between 1 and " + maxLimit);
+        }
+        List<Leaderboard.Entry> entries = leaderboard(mapId(mapName)).top(size);
+        List<LeaderboardEntryDto> top = new ArrayList<>(entries.size());
+        for (Leaderboard.Entry entry : entries) {
+            top.add(new LeaderboardEntryDto(top.size() + 1, entry.playerName(), entry.score()));
+        }
+        return top;
+    }
+
+    public LeaderboardEntryDto rank(String mapName, String playerName) {
+        Leaderboard leaderboard = leaderboard(mapId(mapName));
+        if (leaderboard.get(playerName) == null) {
+            throw new NotFoundException("No score of " + playerName + " on " + mapName);
+        }
+        return entry(leaderboard, playerName);
+    }
+
+    /**
+     * Writes the pending scores to the database.
+     */
+    public void flush() {
+        List<ScoreEntity> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<ScoreEntity.Key, ScoreEntity> entry : pending.entrySet()) {
+            // Only removed if not replaced by a better score in the meantime
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) return;
+        try {
+            repository.upsertScores(batch);
+        } catch (RuntimeException exception) {
+            // Kept for the next flush, unless a better score came in
+            for (ScoreEntity score : batch) {
+                pending.merge(new ScoreEntity.Key(score.getMapId(), score.getPlayerName()), score,
+                        (next, previous) -> next.getScore() >= previous.getScore() ? next : previous);
+            }
+            throw exception;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            logger.warn("Could not write the scores, retrying at the next flush", exception);
+        }
+    }
+
+    private Leaderboard leaderboard(int mapId) {
+        return leaderboards.computeIfAbsent(mapId, id -> {
+            Leaderboard leaderboard = new Leaderboard();
+            for (ScoreEntity score : repository.findByMapId(id)) {
+                leaderboard.submit(score.getPlayerName(), score.getScore(), score.getSubmittedAt().toEpochMilli());
+            }
+            return leaderboard;
+        });
+    }
+
+    private int mapId(String mapName) {
+        MapDto map = mapService.getMapByName(mapName);
+        return map.getId();
+    }
+
+    private static LeaderboardEntryDto entry(Leaderboard leaderboard, String playerName) {
+        Leaderboard.Entry entry = leaderboard.get(playerName);
+        return new LeaderboardEntryDto(leaderboard.rank(playerName), playerName, entry.score());
+    }
+
+    private static String validatePlayerName(String playerName) {
+        if (playerName == null || playerName.isBlank()) {
+            throw new BadRequestException("A player name is required");
+        }
+        if (playerName.length() > MAX_PLAYER_NAME_LENGTH) {
+            throw new BadRequestException("The player name is longer than " + MAX_PLAYER_NAME_LENGTH + " characters");
+        }
+        return playerName;
+    }
+}
@@ -0,0 +1,24 @@
+package game.metrics;
+
+import game.cache.MapCache;
+import game.cache.MapNameIndex;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges over the map cache and the name index, read from their stats at each scrape.
+ */
+@Component
+public class CacheMetrics {
+
+    public CacheMetrics(MetricsRegistry registry, MapCache cache, MapNameIndex nameIndex) {
+        registry.gauge("game.cache.size", () -> cache.getStats().size(), "cache", "maps");
+        registry.gauge("game.cache.max.size", () -> cache.getStats().maxSize(), "cache", "maps");
+        registry.functionCounter("game.cache.gets", () -> cache.getStats().hits(), "cache", "maps", "result", "hit");
+        registry.functionCounter("game.cache.gets", () -> cache.getStats().negativeHits(),
+                "cache", "maps", "result", "negative_hit");
+        registry.functionCounter("game.cache.gets", () -> cache.getStats().misses(), "cache", "maps", "result", "miss");
+        registry.functionCounter("game.cache.coalesced", () -> cache.getStats().coalesced(), "cache", "maps");
+        registry.functionCounter("game.cache.evictions", () -> cache.getStats().evictions(), "cache", "maps");
+        registry.gauge("game.maps.names", () -> nameIndex.getNames().size());
+    }
+}
@@ -0,0 +1,31 @@
+package game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter implements Meter {
+
+    private final MeterId id;
+    private final LongAdder count = new LongAdder();
+
+    Counter(MeterId id) {
+        this.id = id;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.COUNTER;
+    }
+}
@@ -0,0 +1,34 @@
+package game.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Value read from its source at each scrape. A gauge of type COUNTER reads a
+ * value that only grows, such as the hits of a cache.
+ */
+public class Gauge implements Meter {
+
+    private final MeterId id;
+    private final Type type;
+    private final Supplier<? extends Number> value;
+
+    Gauge(MeterId id, Type type, Supplier<? extends Number> value) {
+        this.id = id;
+        this.type = type;
+        this.value = value;
+    }
+
+    public double value() {
+        return value.get().doubleValue();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+}
@@ -0,0 +1,14 @@
+package game.metrics;
+
+public interface Meter {
+
+    enum Type {
+        COUNTER,
+        GAUGE,
+        TIMER
+    }
+
+    MeterId getId();
+
+    Type getType();
+}
@@ -0,0 +1,23 @@
+package game.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Name and tags of a meter, the tags sorted by key so that the same tags in
+ * another order give the same meter.
+ */
+public record MeterId(String name, SortedMap<String, String> tags) {
+
+    public static MeterId of(String name, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key and value pairs");
+        }
+        TreeMap<String, String> sorted = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            sorted.put(tags[i], tags[i + 1]);
+        }
+        return new MeterId(name, Collections.unmodifiableSortedMap(sorted));
+    }
+}
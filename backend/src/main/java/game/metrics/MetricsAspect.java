@@ -0,0 +1,82 @@
+package game.metrics;
+
+import game.exception.BadRequestException;
+import game.exception.NotFoundException;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call to the repositories, and counts the validation failures
+ * and the lookups of missing maps thrown by the services.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    public static final String REPOSITORY_METRIC = "spring.data.repository.invocations";
+    public static final String VALIDATION_METRIC = "game.validation.failures";
+    public static final String NOT_FOUND_METRIC = "game.lookups.not.found";
+
+    private final MetricsRegistry registry;
+    // Repository interface implemented by each repository proxy class
+    private final ConcurrentHashMap<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    // A failure going up through several services is only counted where it was thrown. Held weakly,
+    // so that a pooled thread does not keep its last failure, and its stack trace, once it is handled
+    private final ThreadLocal<WeakReference<Throwable>> lastCounted = new ThreadLocal<>();
+
+    public MetricsAspect(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            registry.timer(REPOSITORY_METRIC,
+                    "repository", repositoryName(joinPoint.getThis().getClass()),
+                    "method", joinPoint.getSignature().getName(),
+                    "exception", exception)
+                    .record(System.nanoTime() - start);
+        }
+    }
+
+    @AfterThrowing(pointcut = "within(@org.springframework.stereotype.Service *)", throwing = "exception")
+    public void countFailure(JoinPoint joinPoint, RuntimeException exception) {
+        String metric;
+        if (exception instanceof BadRequestException) {
+            metric = VALIDATION_METRIC;
+        } else if (exception instanceof NotFoundException) {
+            metric = NOT_FOUND_METRIC;
+        } else {
+            return;
+        }
+        WeakReference<Throwable> counted = lastCounted.get();
+        if (counted != null && counted.get() == exception) return;
+        lastCounted.set(new WeakReference<>(exception));
+        registry.counter(metric, "operation",
+                joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName())
+                .increment();
+    }
+
+    private String repositoryName(Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> {
+            for (Class<?> contract : type.getInterfaces()) {
+                if (contract.getPackageName().startsWith("game.")) return contract.getSimpleName();
+            }
+            return type.getSimpleName();
+        });
+    }
+}
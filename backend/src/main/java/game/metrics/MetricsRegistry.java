@@ -0,0 +1,54 @@
+package game.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of the application meters, read by the metrics endpoints.
+ * Meters are created on first use and live as long as the application.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentHashMap<MeterId, Meter> meters = new ConcurrentHashMap<>();
+
+    public Timer timer(String name, String... tags) {
+        return register(MeterId.of(name, tags), Timer.class, Timer::new);
+    }
+
+    public Counter counter(String name, String... tags) {
+        return register(MeterId.of(name, tags), Counter.class, Counter::new);
+    }
+
+    public void gauge(String name, Supplier<? extends Number> value, String... tags) {
+        register(MeterId.of(name, tags), Gauge.class, id -> new Gauge(id, Meter.Type.GAUGE, value));
+    }
+
+    public void functionCounter(String name, Supplier<? extends Number> value, String... tags) {
+        register(MeterId.of(name, tags), Gauge.class, id -> new Gauge(id, Meter.Type.COUNTER, value));
+    }
+
+    /**
+     * Meters sorted by name and tags.
+     */
+    public List<Meter> getMeters() {
+        List<Meter> sorted = new ArrayList<>(meters.values());
+        sorted.sort(Comparator.comparing((Meter meter) -> meter.getId().name())
+                .thenComparing(meter -> meter.getId().tags().toString()));
+        return sorted;
+    }
+
+    private <T extends Meter> T register(MeterId id, Class<T> type, Function<MeterId, T> factory) {
+        Meter meter = meters.computeIfAbsent(id, factory::apply);
+        if (!type.isInstance(meter)) {
+            throw new IllegalArgumentException("Meter " + id.name() + " is already registered as a " + meter.getType());
+        }
+        return type.cast(meter);
+    }
+}
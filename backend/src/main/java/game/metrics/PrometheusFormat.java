@@ -0,0 +1,101 @@
+package game.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes meters in the Prometheus text exposition format. Dots in the names
+ * become underscores, timers are histograms in seconds with a _max gauge.
+ */
+public final class PrometheusFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private PrometheusFormat() {
+    }
+
+    public static String write(List<Meter> meters) {
+        StringBuilder out = new StringBuilder();
+        String previousName = null;
+        for (Meter meter : meters) {
+            String name = meter.getId().name().replace('.', '_');
+            Map<String, String> tags = meter.getId().tags();
+            switch (meter.getType()) {
+                case COUNTER -> {
+                    name += "_total";
+                    if (!name.equals(previousName)) typeLine(out, name, "counter");
+                    sample(out, name, tags, null, counterValue(meter));
+                }
+                case GAUGE -> {
+                    if (!name.equals(previousName)) typeLine(out, name, "gauge");
+                    sample(out, name, tags, null, ((Gauge) meter).value());
+                }
+                case TIMER -> {
+                    name += "_seconds";
+                    if (!name.equals(previousName)) typeLine(out, name, "histogram");
+                    Timer timer = (Timer) meter;
+                    long[] cumulative = timer.cumulativeBuckets();
+                    for (int i = 0; i < Timer.BUCKET_BOUNDS.length; i++) {
+                        sample(out, name + "_bucket", tags, Double.toString(Timer.BUCKET_BOUNDS[i] / NANOS_PER_SECOND),
+                                cumulative[i]);
+                    }
+                    sample(out, name + "_bucket", tags, "+Inf", cumulative[cumulative.length - 1]);
+                    sample(out, name + "_count", tags, null, timer.count());
+                    sample(out, name + "_sum", tags, null, timer.totalNanos() / NANOS_PER_SECOND);
+                    sample(out, name + "_max", tags, null, timer.maxNanos() / NANOS_PER_SECOND);
+                }
+            }
+            previousName = name;
+        }
+        return out.toString();
+    }
+
+    private static double counterValue(Meter meter) {
+        return meter instanceof Counter counter ? counter.count() : ((Gauge) meter).value();
+    }
+
+    private static void typeLine(StringBuilder out, String name, String type) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, Map<String, String> tags, String le, double value) {
+        out.append(name);
+        if (!tags.isEmpty() || le != null) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                if (!first) out.append(',');
+                label(out, tag.getKey(), tag.getValue());
+                first = false;
+            }
+            if (le != null) {
+                if (!first) out.append(',');
+                label(out, "le", le);
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static void label(StringBuilder out, String key, String value) {
+        out.append(key).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,50 @@
+package game.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Times the requests handled by the controllers, tagged with the route pattern,
+ * the method and the status. A streamed response is timed until its last byte,
+ * when its async dispatch completes.
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRIC = "http.server.requests";
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final MetricsRegistry registry;
+
+    public RequestMetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Kept from the first dispatch of an async request
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod) || start == null) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        registry.timer(METRIC,
+                "method", request.getMethod(),
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "status", Integer.toString(response.getStatus()))
+                .record(System.nanoTime() - (long) start);
+    }
+}
@@ -0,0 +1,149 @@
+package game.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Wraps the data source to time every statement, from JPA and from the JDBC
+ * templates alike, and logs the statements slower than the threshold with
+ * their SQL. Replaces the echo of every statement by spring.jpa.show-sql.
+ */
+@Component
+public class SlowQueryLogger implements BeanPostProcessor {
+
+    public static final String METRIC = "jdbc.statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final long thresholdNanos;
+    // Resolved on first use, post processors are created before the other beans
+    private final ObjectProvider<MetricsRegistry> registry;
+
+    public SlowQueryLogger(@Value("${game.metrics.slow-query-threshold:200ms}") Duration threshold,
+                           ObjectProvider<MetricsRegistry> registry) {
+        this.thresholdNanos = threshold.toNanos();
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+            return new TimedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private void record(String sql, long nanos) {
+        MetricsRegistry metrics = registry.getObject();
+        metrics.timer(METRIC).record(nanos);
+        if (nanos >= thresholdNanos) {
+            metrics.counter(METRIC + ".slow").increment();
+            logger.warn("Slow statement ({} ms): {}", Duration.ofNanos(nanos).toMillis(), sql);
+        }
+    }
+
+    private final class TimedDataSource extends DelegatingDataSource {
+        private TimedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return timed(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return timed(super.getConnection(username, password));
+        }
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(SlowQueryLogger.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        // Hibernate keeps the statements in hash maps, a proxy must only equal itself
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+        }
+    }
+
+    // Wraps the statements created by the connection, keeping the SQL of the prepared ones
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryLogger.invoke(proxy, target, method, args);
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                return proxy(method.getReturnType(), new StatementHandler(result, (String) args[0]));
+            }
+            if (name.equals("createStatement")) {
+                return proxy(Statement.class, new StatementHandler(result, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private String sql;
+
+        private StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("addBatch") && args != null && sql == null) {
+                    sql = (String) args[0];
+                }
+                return SlowQueryLogger.invoke(proxy, target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return SlowQueryLogger.invoke(proxy, target, method, args);
+            } finally {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                record(executed, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package game.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, total and maximum of durations, with a histogram over fixed buckets
+ * from 1 ms to 10 s. Recording is lock free.
+ */
+public class Timer implements Meter {
+
+    // Upper bounds of the buckets, the last bucket counts everything above
+    static final long[] BUCKET_BOUNDS = {
+            millis(1), millis(2), millis(5), millis(10), millis(25), millis(50), millis(100),
+            millis(250), millis(500), millis(1000), millis(2500), millis(5000), millis(10000)
+    };
+
+    private final MeterId id;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+
+    Timer(MeterId id) {
+        this.id = id;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && nanos > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Number of durations up to each bucket bound, the last value being the count of all durations.
+     */
+    public long[] cumulativeBuckets() {
+        long[] cumulative = new long[buckets.length];
+        long sum = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            sum += buckets[i].sum();
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Upper bound of the bucket holding the quantile, the maximum when it falls in the last bucket.
+     */
+    public long quantileNanos(double quantile) {
+        long[] cumulative = cumulativeBuckets();
+        long total = cumulative[cumulative.length - 1];
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (cumulative[i] >= rank) return Math.min(BUCKET_BOUNDS[i], maxNanos());
+        }
+        return maxNanos();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.TIMER;
+    }
+}
@@ -0,0 +1,67 @@
+package game.model;
+
+/**
+ * Layout of the tiles of large maps, stored apart from the map in square
+ * chunks of CHUNK_SIZE x CHUNK_SIZE tiles. Maps that fit in a single chunk
+ * keep their tiles in the map row.
+ *
+ * Chunk (cx, cy) starts at tile (cx * CHUNK_SIZE, cy * CHUNK_SIZE) and its
+ * tiles are packed row by row. Chunks on the right and bottom edges are cut
+ * at the border of the map.
+ */
+public final class ChunkLayout {
+
+    public static final int CHUNK_SIZE = 64;
+    public static final int CHUNK_BYTES = CHUNK_SIZE * CHUNK_SIZE / TileGrid.TILES_PER_BYTE;
+    public static final int MAX_MAP_SIZE = 4096;
+
+    private ChunkLayout() {}
+
+    public static boolean isChunked(int width, int height) {
+        return width > CHUNK_SIZE || height > CHUNK_SIZE;
+    }
+
+    // Number of chunks along a side of the given length
+    public static int chunkCount(int length) {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    // Length of the chunk at the given position along a side of the given length
+    public static int chunkLength(int length, int chunk) {
+        return Math.min(CHUNK_SIZE, length - chunk * CHUNK_SIZE);
+    }
+
+    /**
+     * Copies the tiles of a chunk out of the grid of a whole map.
+     */
+    public static TileGrid extract(TileGrid grid, int width, int height, int chunkX, int chunkY) {
+        int chunkWidth = chunkLength(width, chunkX);
+        int chunkHeight = chunkLength(height, chunkY);
+        int left = chunkX * CHUNK_SIZE;
+        int top = chunkY * CHUNK_SIZE;
+        TileGrid chunk = new TileGrid(chunkWidth * chunkHeight);
+        for (int y = 0; y < chunkHeight; y++) {
+            int row = (top + y) * width + left;
+            for (int x = 0; x < chunkWidth; x++) {
+                chunk.set(y * chunkWidth + x, grid.get(row + x));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Copies the tiles of a chunk into the grid of a whole map.
+     */
+    public static void insert(TileGrid grid, int width, int height, int chunkX, int chunkY, TileGrid chunk) {
+        int chunkWidth = chunkLength(width, chunkX);
+        int chunkHeight = chunkLength(height, chunkY);
+        int left = chunkX * CHUNK_SIZE;
+        int top = chunkY * CHUNK_SIZE;
+        for (int y = 0; y < chunkHeight; y++) {
+            int row = (top + y) * width + left;
+            for (int x = 0; x < chunkWidth; x++) {
+                grid.set(row + x, chunk.get(y * chunkWidth + x));
+            }
+        }
+    }
+}
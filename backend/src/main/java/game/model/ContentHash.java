@@ -0,0 +1,59 @@
+package game.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Strong SHA-256 content hashes, used as HTTP entity tags.
+ */
+public final class ContentHash {
+
+    private ContentHash() {}
+
+    public static String of(String name, int width, int height, TileGrid tiles) {
+        MessageDigest digest = sha256();
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(width).putInt(height).array());
+        digest.update(tiles.toBytes());
+        return encode(digest);
+    }
+
+    public static String ofNames(Iterable<String> names) {
+        MessageDigest digest = sha256();
+        for (String name : names) {
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return encode(digest);
+    }
+
+    public static String ofBytes(byte[] content) {
+        MessageDigest digest = sha256();
+        digest.update(content);
+        return encode(digest);
+    }
+
+    /**
+     * The hash of the content of a map with its version, since the body of a
+     * map carries its version and the tiles can come back to earlier ones.
+     */
+    public static String versioned(String contentHash, int version) {
+        return contentHash + "-v" + version;
+    }
+
+    private static String encode(MessageDigest digest) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package game.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A band of the canonical tiles of an 8x8 map, see {@link TileSignature}.
+ */
+@Entity
+@Table(name = "map_bands", indexes = @Index(name = "idx_map_bands_band_key", columnList = "band_key"))
+@IdClass(MapBandEntity.Key.class)
+public class MapBandEntity {
+
+    @Id
+    @Column(name = "map_id")
+    private Integer mapId;
+    @Id
+    @Column(name = "band_key")
+    private Long bandKey;
+
+    public MapBandEntity() {}
+
+    public Integer getMapId() {
+        return mapId;
+    }
+
+    public Long getBandKey() {
+        return bandKey;
+    }
+
+    public static class Key implements Serializable {
+        private Integer mapId;
+        private Long bandKey;
+
+        public Key() {}
+
+        public Key(Integer mapId, Long bandKey) {
+            this.mapId = mapId;
+            this.bandKey = bandKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(mapId, other.mapId) && Objects.equals(bandKey, other.bandKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mapId, bandKey);
+        }
+    }
+}
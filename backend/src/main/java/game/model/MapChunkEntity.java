@@ -0,0 +1,73 @@
+package game.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A chunk of the tiles of a large map, see {@link ChunkLayout}.
+ */
+@Entity
+@Table(name = "map_chunks")
+@IdClass(MapChunkEntity.Key.class)
+public class MapChunkEntity {
+
+    @Id
+    @Column(name = "map_id")
+    private Integer mapId;
+    @Id
+    @Column(name = "chunk_x")
+    private Integer chunkX;
+    @Id
+    @Column(name = "chunk_y")
+    private Integer chunkY;
+    @Column(name = "tiles", nullable = false, length = ChunkLayout.CHUNK_BYTES)
+    private byte[] tiles;
+
+    public MapChunkEntity() {}
+
+    public Integer getMapId() {
+        return mapId;
+    }
+
+    public Integer getChunkX() {
+        return chunkX;
+    }
+
+    public Integer getChunkY() {
+        return chunkY;
+    }
+
+    public byte[] getTiles() {
+        return tiles;
+    }
+
+    public static class Key implements Serializable {
+        private Integer mapId;
+        private Integer chunkX;
+        private Integer chunkY;
+
+        public Key() {}
+
+        public Key(Integer mapId, Integer chunkX, Integer chunkY) {
+            this.mapId = mapId;
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(mapId, other.mapId)
+                    && Objects.equals(chunkX, other.chunkX)
+                    && Objects.equals(chunkY, other.chunkY);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mapId, chunkX, chunkY);
+        }
+    }
+}
@@ -1,28 +1,68 @@
 package game.model;
 
 import javax.persistence.*;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "maps")
+@Table(name = "maps", indexes = {
+        @Index(name = "idx_maps_canonical_tiles", columnList = "canonical_tiles"),
+        @Index(name = "idx_maps_plain_tiles", columnList = "plain_tiles"),
+        @Index(name = "idx_maps_tree_tiles", columnList = "tree_tiles"),
+        @Index(name = "idx_maps_water_tiles", columnList = "water_tiles"),
+        @Index(name = "idx_maps_largest_plain_area", columnList = "largest_plain_area"),
+        @Index(name = "idx_maps_largest_tree_area", columnList = "largest_tree_area"),
+        @Index(name = "idx_maps_largest_water_area", columnList = "largest_water_area"),
+        @Index(name = "idx_maps_plain_tree_edges", columnList = "plain_tree_edges"),
+        @Index(name = "idx_maps_plain_water_edges", columnList = "plain_water_edges"),
+        @Index(name = "idx_maps_tree_water_edges", columnList = "tree_water_edges")
+})
 public class MapEntity {
 
+    public static final int DEFAULT_SIZE = 8;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
     @Column(unique = true, nullable = false)
     private String name;
-    @Column(name = "tiles", nullable = false, length = 64)
-    private String tilesData;
+    @Column(nullable = false)
+    private int width = DEFAULT_SIZE;
+    @Column(nullable = false)
+    private int height = DEFAULT_SIZE;
+    // Packed tiles of the maps that fit in one chunk, null for chunked maps
+    @Column(name = "tiles", length = ChunkLayout.CHUNK_BYTES)
+    private byte[] packedTiles;
+    // Unpacked on first use, or every tile of a chunked map while it is saved
+    @Transient
+    private TileGrid tiles;
+    // Smallest orientation of the tiles of 8x8 maps, see TileSignature
+    @Column(name = "canonical_tiles", length = TileSignature.TILE_COUNT / TileGrid.TILES_PER_BYTE)
+    private byte[] canonicalTiles;
+    // Null until computed, for the maps saved before the statistics existed
+    @Embedded
+    private MapStats stats;
+    // Hash of the name and tiles, computed on save and served as the map ETag
+    @Column(name = "content_hash", length = 43)
+    private String contentHash;
+    // Bumped by every update of the tiles, null for the maps never updated
+    @Column(name = "version")
+    private Integer version;
 
     public MapEntity() {}
 
     public MapEntity(String name, List<Integer> tiles) {
+        this(name, tiles == null ? new TileGrid(0) : TileGrid.of(tiles));
+    }
+
+    public MapEntity(String name, TileGrid tiles) {
+        this(name, DEFAULT_SIZE, DEFAULT_SIZE, tiles);
+    }
+
+    public MapEntity(String name, int width, int height, TileGrid tiles) {
         this.name = name;
+        this.width = width;
+        this.height = height;
         setTiles(tiles);
     }
 
@@ -42,23 +82,70 @@ public class MapEntity {
         this.name = name;
     }
 
-    public List<Integer> getTiles() {
-        if (tilesData == null || tilesData.isEmpty()) {
-            return new ArrayList<>();
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isChunked() {
+        return ChunkLayout.isChunked(width, height);
+    }
+
+    /**
+     * Tiles of the map, null for a loaded chunked map whose tiles are in its chunks.
+     */
+    public TileGrid getTiles() {
+        if (tiles == null && packedTiles != null) {
+            tiles = TileGrid.fromBytes(packedTiles, width * height);
         }
-        return tilesData.chars()
-                .mapToObj(Character::getNumericValue)
-                .collect(Collectors.toList());
+        return tiles;
+    }
+
+    public void setTiles(TileGrid tiles) {
+        this.tiles = tiles;
+        this.packedTiles = isChunked() ? null : tiles.toBytes();
+    }
+
+    public byte[] getCanonicalTiles() {
+        return canonicalTiles;
+    }
+
+    public void setCanonicalTiles(byte[] canonicalTiles) {
+        this.canonicalTiles = canonicalTiles;
+    }
+
+    public MapStats getStats() {
+        return stats;
+    }
+
+    public void setStats(MapStats stats) {
+        this.stats = stats;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public int getVersion() {
+        return version == null ? 1 : version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
     }
 
-    public void setTiles(List<Integer> tiles) {
-        if (tiles == null || tiles.isEmpty()) {
-            this.tilesData = "";
-            return;
+    @PrePersist
+    @PreUpdate
+    void updateSignatures() {
+        TileGrid grid = getTiles();
+        if (grid != null) {
+            contentHash = ContentHash.of(name, width, height, grid);
+            canonicalTiles = TileSignature.isIndexed(width, height) ? TileSignature.canonical(grid) : null;
+            stats = MapStats.of(grid, width, height);
         }
-        this.tilesData = tiles.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining());
     }
 
     @Override
@@ -66,7 +153,9 @@ public class MapEntity {
         return "MapEntity{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
-                ", tiles=" + getTiles() +
+                ", width=" + width +
+                ", height=" + height +
+                ", tiles=" + (isChunked() ? "chunked" : getTiles()) +
                 '}';
     }
 }
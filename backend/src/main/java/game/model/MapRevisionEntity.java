@@ -0,0 +1,76 @@
+package game.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A version of the tiles of a map, either a full snapshot of the packed
+ * tiles or a {@link TileDelta} from the previous version.
+ */
+@Entity
+@Table(name = "map_revisions")
+@IdClass(MapRevisionEntity.Key.class)
+public class MapRevisionEntity {
+
+    @Id
+    @Column(name = "map_id")
+    private Integer mapId;
+    @Id
+    @Column(name = "version")
+    private Integer version;
+    @Column(name = "snapshot", nullable = false)
+    private boolean snapshot;
+    @Column(name = "data", nullable = false, length = ChunkLayout.CHUNK_BYTES)
+    private byte[] data;
+
+    public MapRevisionEntity() {}
+
+    public MapRevisionEntity(Integer mapId, Integer version, boolean snapshot, byte[] data) {
+        this.mapId = mapId;
+        this.version = version;
+        this.snapshot = snapshot;
+        this.data = data;
+    }
+
+    public Integer getMapId() {
+        return mapId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public static class Key implements Serializable {
+        private Integer mapId;
+        private Integer version;
+
+        public Key() {}
+
+        public Key(Integer mapId, Integer version) {
+            this.mapId = mapId;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(mapId, other.mapId) && Objects.equals(version, other.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mapId, version);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package game.model;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.util.Arrays;
+
+/**
+ * Composition of a map, computed when it is saved so that maps can be
+ * filtered and sorted on it without decoding their tiles.
+ * Areas are the sizes of the largest groups of orthogonally connected tiles
+ * of a type, and edges count the pairs of orthogonal neighbours of two types.
+ */
+@Embeddable
+public class MapStats {
+
+    // Column order of values()
+    public static final String COLUMNS = "plain_tiles, tree_tiles, water_tiles, "
+            + "largest_plain_area, largest_tree_area, largest_water_area, "
+            + "plain_tree_edges, plain_water_edges, tree_water_edges";
+    public static final int COLUMN_COUNT = 9;
+
+    @Column(name = "plain_tiles")
+    private Integer plainTiles;
+    @Column(name = "tree_tiles")
+    private Integer treeTiles;
+    @Column(name = "water_tiles")
+    private Integer waterTiles;
+    @Column(name = "largest_plain_area")
+    private Integer largestPlainArea;
+    @Column(name = "largest_tree_area")
+    private Integer largestTreeArea;
+    @Column(name = "largest_water_area")
+    private Integer largestWaterArea;
+    @Column(name = "plain_tree_edges")
+    private Integer plainTreeEdges;
+    @Column(name = "plain_water_edges")
+    private Integer plainWaterEdges;
+    @Column(name = "tree_water_edges")
+    private Integer treeWaterEdges;
+
+    public MapStats() {}
+
+    private MapStats(int[] counts, int[] largestAreas, int[] edges) {
+        plainTiles = counts[0];
+        treeTiles = counts[1];
+        waterTiles = counts[2];
+        largestPlainArea = largestAreas[0];
+        largestTreeArea = largestAreas[1];
+        largestWaterArea = largestAreas[2];
+        plainTreeEdges = edges[0];
+        plainWaterEdges = edges[1];
+        treeWaterEdges = edges[2];
+    }
+
+    public static MapStats of(TileGrid grid, int width, int height) {
+        int[] counts = new int[TileType.COUNT];
+        int[] largestAreas = new int[TileType.COUNT];
+        // Indexed by type a + type b - 1: plain-tree, plain-water, tree-water
+        int[] edges = new int[TileType.COUNT];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int tile = y * width + x;
+                int type = grid.get(tile);
+                counts[type]++;
+                if (x + 1 < width) {
+                    countEdge(edges, type, grid.get(tile + 1));
+                }
+                if (y + 1 < height) {
+                    countEdge(edges, type, grid.get(tile + width));
+                }
+            }
+        }
+
+        // Flood fill of every group, the stack grows only as large as the group being filled
+        boolean[] visited = new boolean[grid.size()];
+        TileStack stack = new TileStack();
+        for (int start = 0; start < visited.length; start++) {
+            if (visited[start]) continue;
+            int type = grid.get(start);
+            int area = 0;
+            visited[start] = true;
+            stack.push(start);
+            while (stack.size > 0) {
+                int tile = stack.pop();
+                int x = tile % width;
+                area++;
+                if (x > 0) visit(grid, visited, stack, tile - 1, type);
+                if (x + 1 < width) visit(grid, visited, stack, tile + 1, type);
+                if (tile >= width) visit(grid, visited, stack, tile - width, type);
+                if (tile + width < visited.length) visit(grid, visited, stack, tile + width, type);
+            }
+            largestAreas[type] = Math.max(largestAreas[type], area);
+        }
+        return new MapStats(counts, largestAreas, edges);
+    }
+
+    private static void visit(TileGrid grid, boolean[] visited, TileStack stack, int tile, int type) {
+        if (!visited[tile] && grid.get(tile) == type) {
+            visited[tile] = true;
+            stack.push(tile);
+        }
+    }
+
+    private static void countEdge(int[] edges, int a, int b) {
+        if (a != b) {
+            edges[a + b - 1]++;
+        }
+    }
+
+    private static final class TileStack {
+        private int[] tiles = new int[16];
+        private int size;
+
+        void push(int tile) {
+            if (size == tiles.length) {
+                tiles = Arrays.copyOf(tiles, size * 2);
+            }
+            tiles[size++] = tile;
+        }
+
+        int pop() {
+            return tiles[--size];
+        }
+    }
+
+    // In the order of COLUMNS
+    public int[] values() {
+        return new int[]{
+                plainTiles, treeTiles, waterTiles,
+                largestPlainArea, largestTreeArea, largestWaterArea,
+                plainTreeEdges, plainWaterEdges, treeWaterEdges
+        };
+    }
+
+    public Integer getPlainTiles() {
+        return plainTiles;
+    }
+
+    public Integer getTreeTiles() {
+        return treeTiles;
+    }
+
+    public Integer getWaterTiles() {
+        return waterTiles;
+    }
+
+    public Integer getLargestPlainArea() {
+        return largestPlainArea;
+    }
+
+    public Integer getLargestTreeArea() {
+        return largestTreeArea;
+    }
+
+    public Integer getLargestWaterArea() {
+        return largestWaterArea;
+    }
+
+    public Integer getPlainTreeEdges() {
+        return plainTreeEdges;
+    }
+
+    public Integer getPlainWaterEdges() {
+        return plainWaterEdges;
+    }
+
+    public Integer getTreeWaterEdges() {
+        return treeWaterEdges;
+    }
+}
@@ -0,0 +1,76 @@
+package game.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Best score of a player on a map, see {@link game.leaderboard.LeaderboardService}.
+ */
+@Entity
+@Table(name = "scores")
+@IdClass(ScoreEntity.Key.class)
+public class ScoreEntity {
+
+    @Id
+    @Column(name = "map_id")
+    private Integer mapId;
+    @Id
+    @Column(name = "player_name", length = 32)
+    private String playerName;
+    @Column(name = "score", nullable = false)
+    private int score;
+    @Column(name = "submitted_at", nullable = false)
+    private Instant submittedAt;
+
+    public ScoreEntity() {}
+
+    public ScoreEntity(Integer mapId, String playerName, int score, Instant submittedAt) {
+        this.mapId = mapId;
+        this.playerName = playerName;
+        this.score = score;
+        this.submittedAt = submittedAt;
+    }
+
+    public Integer getMapId() {
+        return mapId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public static class Key implements Serializable {
+        private Integer mapId;
+        private String playerName;
+
+        public Key() {}
+
+        public Key(Integer mapId, String playerName) {
+            this.mapId = mapId;
+            this.playerName = playerName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(mapId, other.mapId) && Objects.equals(playerName, other.playerName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mapId, playerName);
+        }
+    }
+}
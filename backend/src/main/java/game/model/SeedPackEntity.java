@@ -0,0 +1,48 @@
+package game.model;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A seed pack already loaded in the database, see {@link game.dto.SeedPackFormat}.
+ */
+@Entity
+@Table(name = "seed_packs")
+public class SeedPackEntity {
+
+    // Content hash of the pack file
+    @Id
+    @Column(name = "version", length = 64)
+    private String version;
+    @Column(name = "name", nullable = false)
+    private String name;
+    @Column(name = "map_count", nullable = false)
+    private int mapCount;
+    @Column(name = "loaded_at", nullable = false)
+    private Instant loadedAt;
+
+    public SeedPackEntity() {}
+
+    public SeedPackEntity(String version, String name, int mapCount, Instant loadedAt) {
+        this.version = version;
+        this.name = name;
+        this.mapCount = mapCount;
+        this.loadedAt = loadedAt;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMapCount() {
+        return mapCount;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,64 @@
+package game.model;
+
+/**
+ * The 8 rotations and reflections of a square map (dihedral group D4).
+ */
+public enum Symmetry {
+    IDENTITY,
+    ROTATE_90,
+    ROTATE_180,
+    ROTATE_270,
+    FLIP_HORIZONTAL,
+    FLIP_VERTICAL,
+    TRANSPOSE,
+    ANTI_TRANSPOSE;
+
+    /**
+     * Index of the tile (x, y) of a size x size map once transformed.
+     */
+    public int apply(int x, int y, int size) {
+        int last = size - 1;
+        return switch (this) {
+            case IDENTITY -> y * size + x;
+            case ROTATE_90 -> x * size + (last - y);
+            case ROTATE_180 -> (last - y) * size + (last - x);
+            case ROTATE_270 -> (last - x) * size + y;
+            case FLIP_HORIZONTAL -> y * size + (last - x);
+            case FLIP_VERTICAL -> (last - y) * size + x;
+            case TRANSPOSE -> x * size + y;
+            case ANTI_TRANSPOSE -> (last - x) * size + (last - y);
+        };
+    }
+
+    /**
+     * permutation[i] is where tile i goes once transformed.
+     */
+    public int[] permutation(int size) {
+        int[] permutation = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                permutation[y * size + x] = apply(x, y, size);
+            }
+        }
+        return permutation;
+    }
+
+    public TileGrid transform(TileGrid grid, int size) {
+        int[] permutation = permutation(size);
+        TileGrid transformed = new TileGrid(grid.size());
+        for (int i = 0; i < permutation.length; i++) {
+            transformed.set(permutation[i], grid.get(i));
+        }
+        return transformed;
+    }
+
+    public static long transformMask(long mask, int[] permutation) {
+        long transformed = 0;
+        while (mask != 0) {
+            int tile = Long.numberOfTrailingZeros(mask);
+            transformed |= 1L << permutation[tile];
+            mask &= mask - 1;
+        }
+        return transformed;
+    }
+}
@@ -0,0 +1,64 @@
+package game.model;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Difference between two versions of the packed tiles of a map, the XOR of
+ * their bytes, kept only for the bytes that changed. Each changed byte is
+ * stored as the gap from the previous changed byte, a varint, followed by
+ * its XOR: editing a tile costs two bytes, or three when the previous change
+ * is 128 bytes or more away. Applying a delta twice reverts it.
+ */
+public final class TileDelta {
+
+    private TileDelta() {}
+
+    public static byte[] encode(byte[] from, byte[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Deltas are only between grids of the same size");
+        }
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        int previous = -1;
+        for (int i = 0; i < from.length; i++) {
+            int xor = from[i] ^ to[i];
+            if (xor == 0) continue;
+            int gap = i - previous - 1;
+            while (gap >= 0x80) {
+                delta.write((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            delta.write(gap);
+            delta.write(xor);
+            previous = i;
+        }
+        return delta.toByteArray();
+    }
+
+    /**
+     * Applies the delta to the packed tiles, in place.
+     *
+     * @throws IllegalArgumentException if the delta does not fit the tiles
+     */
+    public static void apply(byte[] tiles, byte[] delta) {
+        int index = -1;
+        int position = 0;
+        while (position < delta.length) {
+            int gap = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (position >= delta.length) {
+                    throw new IllegalArgumentException("Truncated tile delta");
+                }
+                b = delta[position++] & 0xFF;
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            index += gap + 1;
+            if (position >= delta.length || index >= tiles.length) {
+                throw new IllegalArgumentException("Tile delta out of the grid");
+            }
+            tiles[index] ^= delta[position++];
+        }
+    }
+}
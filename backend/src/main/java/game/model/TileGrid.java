@@ -0,0 +1,153 @@
+package game.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Grid of tiles packed on 2 bits per tile, four tiles per byte.
+ * An 8x8 map fits in 16 bytes.
+ */
+public class TileGrid {
+
+    public static final int BITS_PER_TILE = 2;
+    public static final int TILES_PER_BYTE = 8 / BITS_PER_TILE;
+    public static final int MAX_TILE_VALUE = 2;
+
+    private static final int TILE_MASK = (1 << BITS_PER_TILE) - 1;
+    // Low bit of every tile in a byte, a tile is 3 when both of its bits are set
+    private static final int LOW_BITS = 0x55;
+
+    private final byte[] data;
+    private final int size;
+
+    public TileGrid(int size) {
+        this(new byte[byteCount(size)], size);
+    }
+
+    private TileGrid(byte[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    public static int byteCount(int size) {
+        return (size + TILES_PER_BYTE - 1) / TILES_PER_BYTE;
+    }
+
+    public static TileGrid fromBytes(byte[] packed, int size) {
+        if (packed.length != byteCount(size)) {
+            throw new IllegalArgumentException("Expected " + byteCount(size) + " bytes for " + size + " tiles");
+        }
+        return new TileGrid(packed.clone(), size);
+    }
+
+    /**
+     * Reads the packed bytes of a grid, rejecting tiles above MAX_TILE_VALUE.
+     */
+    public static TileGrid readFrom(DataInput in, int size) throws IOException {
+        byte[] data = new byte[byteCount(size)];
+        in.readFully(data);
+        int padding = size % TILES_PER_BYTE;
+        if (padding != 0) {
+            data[data.length - 1] &= (1 << (padding * BITS_PER_TILE)) - 1;
+        }
+        for (byte b : data) {
+            if ((b & (b >>> 1) & LOW_BITS) != 0) {
+                throw new IllegalArgumentException("Invalid tile value " + (MAX_TILE_VALUE + 1));
+            }
+        }
+        return new TileGrid(data, size);
+    }
+
+    public static TileGrid of(List<Integer> tiles) {
+        TileGrid grid = new TileGrid(tiles.size());
+        int index = 0;
+        for (Integer value : tiles) {
+            grid.set(index++, value == null ? -1 : value);
+        }
+        return grid;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return (data[index / TILES_PER_BYTE] >>> shift(index)) & TILE_MASK;
+    }
+
+    public void set(int index, int value) {
+        checkIndex(index);
+        if (value < 0 || value > MAX_TILE_VALUE) {
+            throw new IllegalArgumentException("Invalid tile value " + value + " at index " + index);
+        }
+        int i = index / TILES_PER_BYTE;
+        int shift = shift(index);
+        data[i] = (byte) ((data[i] & ~(TILE_MASK << shift)) | (value << shift));
+    }
+
+    public byte[] toBytes() {
+        return data.clone();
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.write(data);
+    }
+
+    /**
+     * Read-only view of the tiles. Values are served from the Integer cache,
+     * so iterating it does not allocate per tile.
+     */
+    public List<Integer> asList() {
+        return new TileList();
+    }
+
+    private static int shift(int index) {
+        return (index % TILES_PER_BYTE) * BITS_PER_TILE;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Tile index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TileGrid)) return false;
+        TileGrid other = (TileGrid) o;
+        return size == other.size && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.append(get(i));
+        }
+        return builder.toString();
+    }
+
+    private class TileList extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            return TileGrid.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
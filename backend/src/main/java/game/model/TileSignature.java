@@ -0,0 +1,103 @@
+package game.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Symmetry-aware signatures of 8x8 maps, used to find maps that are the
+ * same or nearly the same layout, up to a rotation or a reflection.
+ *
+ * The canonical form of a map is the smallest of its 8 orientations,
+ * compared on the packed bytes. It is split in BANDS bands of two rows:
+ * two maps differing on fewer than BANDS tiles share at least one band, so
+ * looking up the bands of a map finds all of its near duplicates without
+ * comparing it to every other map. Bands of two rows rather than one keep
+ * common rows, such as a row of plains, from matching most of the catalog.
+ */
+public final class TileSignature {
+
+    public static final int SIZE = 8;
+    public static final int TILE_COUNT = SIZE * SIZE;
+    public static final int BANDS = 4;
+    // Tiles can differ in at most this many places and still share a band
+    public static final int MAX_DISTANCE = BANDS - 1;
+
+    private static final int BYTES_PER_BAND = TILE_COUNT / TileGrid.TILES_PER_BYTE / BANDS;
+    private static final long LOW_BITS = 0x5555555555555555L;
+    private static final int[][] PERMUTATIONS = new int[Symmetry.values().length][];
+
+    static {
+        for (Symmetry symmetry : Symmetry.values()) {
+            PERMUTATIONS[symmetry.ordinal()] = symmetry.permutation(SIZE);
+        }
+    }
+
+    private TileSignature() {}
+
+    public static boolean isIndexed(int width, int height) {
+        return width == SIZE && height == SIZE;
+    }
+
+    /**
+     * The 8 orientations of a map, as packed bytes.
+     */
+    public static byte[][] orientations(TileGrid grid) {
+        byte[][] orientations = new byte[PERMUTATIONS.length][];
+        for (int s = 0; s < PERMUTATIONS.length; s++) {
+            int[] permutation = PERMUTATIONS[s];
+            TileGrid transformed = new TileGrid(TILE_COUNT);
+            for (int i = 0; i < TILE_COUNT; i++) {
+                transformed.set(permutation[i], grid.get(i));
+            }
+            orientations[s] = transformed.toBytes();
+        }
+        return orientations;
+    }
+
+    public static byte[] canonical(TileGrid grid) {
+        byte[] smallest = null;
+        for (byte[] orientation : orientations(grid)) {
+            if (smallest == null || Arrays.compareUnsigned(orientation, smallest) < 0) {
+                smallest = orientation;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Keys of the bands of packed tiles: the band index in the high bits, the packed rows in the low 32 bits.
+     */
+    public static long[] bandKeys(byte[] packed) {
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            keys[band] = ((long) band << Integer.SIZE) | buffer.getInt(band * BYTES_PER_BAND) & 0xFFFFFFFFL;
+        }
+        return keys;
+    }
+
+    /**
+     * Number of tiles that differ between two packed maps.
+     */
+    public static int distance(byte[] a, byte[] b) {
+        ByteBuffer left = ByteBuffer.wrap(a);
+        ByteBuffer right = ByteBuffer.wrap(b);
+        int distance = 0;
+        while (left.hasRemaining()) {
+            long diff = left.getLong() ^ right.getLong();
+            distance += Long.bitCount((diff | (diff >>> 1)) & LOW_BITS);
+        }
+        return distance;
+    }
+
+    /**
+     * Smallest distance between a canonical form and any orientation of a map.
+     */
+    public static int distance(byte[][] orientations, byte[] canonical) {
+        int best = TILE_COUNT;
+        for (byte[] orientation : orientations) {
+            best = Math.min(best, distance(orientation, canonical));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,10 @@
+package game.model;
+
+// Same order as the frontend TileType enum, the ordinal is the stored tile value
+public enum TileType {
+    PLAIN,
+    TREE,
+    WATER;
+
+    public static final int COUNT = values().length;
+}
@@ -0,0 +1,13 @@
+package game.repository;
+
+import game.model.MapBandEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface MapBandRepository extends CrudRepository<MapBandEntity, MapBandEntity.Key>, MapBandRepositoryCustom {
+    @Modifying
+    @Query("DELETE FROM MapBandEntity b WHERE b.mapId = :mapId")
+    void deleteByMapId(@Param("mapId") Integer mapId);
+}
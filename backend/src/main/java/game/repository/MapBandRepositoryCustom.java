@@ -0,0 +1,10 @@
+package game.repository;
+
+import java.util.Map;
+
+public interface MapBandRepositoryCustom {
+    /**
+     * Inserts the bands of the canonical tiles of maps, keyed by map id, with JDBC batches.
+     */
+    void insertBands(Map<Integer, byte[]> canonicalTilesByMapId);
+}
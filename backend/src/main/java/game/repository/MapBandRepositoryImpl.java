@@ -0,0 +1,35 @@
+package game.repository;
+
+import game.model.TileSignature;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class MapBandRepositoryImpl implements MapBandRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO map_bands (map_id, band_key) VALUES (?, ?)";
+    private static final int BATCH_SIZE = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MapBandRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertBands(Map<Integer, byte[]> canonicalTilesByMapId) {
+        if (canonicalTilesByMapId.isEmpty()) return;
+        List<long[]> rows = new ArrayList<>(canonicalTilesByMapId.size() * TileSignature.BANDS);
+        canonicalTilesByMapId.forEach((mapId, canonical) -> {
+            for (long key : TileSignature.bandKeys(canonical)) {
+                rows.add(new long[]{mapId, key});
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setInt(1, (int) row[0]);
+            statement.setLong(2, row[1]);
+        });
+    }
+}
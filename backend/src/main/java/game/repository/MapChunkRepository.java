@@ -0,0 +1,18 @@
+package game.repository;
+
+import game.model.MapChunkEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MapChunkRepository extends CrudRepository<MapChunkEntity, MapChunkEntity.Key>, MapChunkRepositoryCustom {
+    // Chunks of a map in the given ranges of chunk positions, row by row
+    @Query("SELECT c FROM MapChunkEntity c WHERE c.mapId = :mapId"
+            + " AND c.chunkX BETWEEN :minX AND :maxX AND c.chunkY BETWEEN :minY AND :maxY"
+            + " ORDER BY c.chunkY, c.chunkX")
+    List<MapChunkEntity> findRegion(@Param("mapId") int mapId,
+                                    @Param("minX") int minX, @Param("maxX") int maxX,
+                                    @Param("minY") int minY, @Param("maxY") int maxY);
+}
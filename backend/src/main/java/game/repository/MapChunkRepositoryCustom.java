@@ -0,0 +1,10 @@
+package game.repository;
+
+import game.model.TileGrid;
+
+public interface MapChunkRepositoryCustom {
+    /**
+     * Splits the tiles of a map in chunks and inserts them with JDBC batches.
+     */
+    void insertChunks(int mapId, int width, int height, TileGrid tiles);
+}
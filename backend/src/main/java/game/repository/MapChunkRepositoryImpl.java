@@ -0,0 +1,37 @@
+package game.repository;
+
+import game.model.ChunkLayout;
+import game.model.TileGrid;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MapChunkRepositoryImpl implements MapChunkRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO map_chunks (map_id, chunk_x, chunk_y, tiles) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MapChunkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertChunks(int mapId, int width, int height, TileGrid tiles) {
+        List<int[]> positions = new ArrayList<>();
+        for (int chunkY = 0; chunkY < ChunkLayout.chunkCount(height); chunkY++) {
+            for (int chunkX = 0; chunkX < ChunkLayout.chunkCount(width); chunkX++) {
+                positions.add(new int[]{chunkX, chunkY});
+            }
+        }
+        // Each chunk is packed while its statement is set, not all of them up front
+        jdbcTemplate.batchUpdate(INSERT_SQL, positions, BATCH_SIZE, (statement, position) -> {
+            statement.setInt(1, mapId);
+            statement.setInt(2, position[0]);
+            statement.setInt(3, position[1]);
+            statement.setBytes(4, ChunkLayout.extract(tiles, width, height, position[0], position[1]).toBytes());
+        });
+    }
+}
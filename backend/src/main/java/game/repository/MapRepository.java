@@ -3,13 +3,48 @@ package game.repository;
 import game.model.MapEntity;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface MapRepository extends CrudRepository<MapEntity, Integer> {
+public interface MapRepository extends CrudRepository<MapEntity, Integer>, JpaSpecificationExecutor<MapEntity> {
     Optional<MapEntity> findByName(String name);
+
+    // Content hash and version of a map, read without its tiles
+    interface HashVersion {
+        String getContentHash();
+        Integer getVersion();
+    }
+
+    List<MapEntity> findByNameIn(Collection<String> names);
+    @Query("SELECT m.contentHash AS contentHash, m.version AS version FROM MapEntity m WHERE m.name = :name")
+    Optional<HashVersion> findHashVersionByName(@Param("name") String name);
+    List<MapEntity> findByIdIn(Collection<Integer> ids);
+    // Locks the map until the end of the transaction, so that its updates are applied one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MapEntity m WHERE m.name = :name")
+    Optional<MapEntity> findByNameForUpdate(@Param("name") String name);
     @Query("SELECT m FROM MapEntity m")
     List<MapEntity> findAllAsList();
+    @Query("SELECT m.name FROM MapEntity m ORDER BY m.name")
+    List<String> findAllNames();
+    @Query("SELECT m.name FROM MapEntity m WHERE m.canonicalTiles = :canonicalTiles")
+    List<String> findNamesByCanonicalTiles(@Param("canonicalTiles") byte[] canonicalTiles);
+    // Maps sharing at least one of the band keys, see TileSignature
+    @Query("SELECT m FROM MapEntity m WHERE m.id IN"
+            + " (SELECT b.mapId FROM MapBandEntity b WHERE b.bandKey IN :bandKeys)")
+    List<MapEntity> findByBandKeys(@Param("bandKeys") Collection<Long> bandKeys);
+    // Maps of the given size without similarity bands, saved before they were indexed, in id order
+    @Query("SELECT m FROM MapEntity m WHERE m.width = :size AND m.height = :size AND m.id > :after"
+            + " AND NOT EXISTS (SELECT b FROM MapBandEntity b WHERE b.mapId = m.id) ORDER BY m.id")
+    List<MapEntity> findWithoutBands(@Param("size") int size, @Param("after") int after, Pageable pageable);
+    // Maps saved before their statistics were computed, in id order
+    @Query("SELECT m FROM MapEntity m WHERE m.stats IS NULL AND m.id > :after ORDER BY m.id")
+    List<MapEntity> findWithoutStats(@Param("after") int after, Pageable pageable);
 }
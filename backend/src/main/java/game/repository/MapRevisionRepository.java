@@ -0,0 +1,18 @@
+package game.repository;
+
+import game.model.MapRevisionEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MapRevisionRepository extends CrudRepository<MapRevisionEntity, MapRevisionEntity.Key> {
+    boolean existsByMapId(Integer mapId);
+    // The last snapshot up to the version, followed by the deltas up to the version
+    @Query("SELECT r FROM MapRevisionEntity r WHERE r.mapId = :mapId AND r.version <= :version"
+            + " AND r.version >= (SELECT MAX(s.version) FROM MapRevisionEntity s"
+            + " WHERE s.mapId = :mapId AND s.snapshot = true AND s.version <= :version)"
+            + " ORDER BY r.version")
+    List<MapRevisionEntity> findChain(@Param("mapId") Integer mapId, @Param("version") Integer version);
+}
@@ -0,0 +1,11 @@
+package game.repository;
+
+import game.model.ScoreEntity;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+public interface ScoreRepository extends CrudRepository<ScoreEntity, ScoreEntity.Key>, ScoreRepositoryCustom {
+
+    List<ScoreEntity> findByMapId(Integer mapId);
+}
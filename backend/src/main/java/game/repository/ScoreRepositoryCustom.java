@@ -0,0 +1,12 @@
+package game.repository;
+
+import game.model.ScoreEntity;
+
+import java.util.Collection;
+
+public interface ScoreRepositoryCustom {
+    /**
+     * Inserts or replaces the scores of players with JDBC batches, in a single transaction.
+     */
+    void upsertScores(Collection<ScoreEntity> scores);
+}
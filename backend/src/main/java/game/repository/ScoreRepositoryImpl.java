@@ -0,0 +1,33 @@
+package game.repository;
+
+import game.model.ScoreEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+class ScoreRepositoryImpl implements ScoreRepositoryCustom {
+
+    private static final String MERGE_SQL = "MERGE INTO scores (map_id, player_name, score, submitted_at) "
+            + "KEY (map_id, player_name) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ScoreRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertScores(Collection<ScoreEntity> scores) {
+        if (scores.isEmpty()) return;
+        jdbcTemplate.batchUpdate(MERGE_SQL, scores, BATCH_SIZE, (statement, score) -> {
+            statement.setInt(1, score.getMapId());
+            statement.setString(2, score.getPlayerName());
+            statement.setInt(3, score.getScore());
+            statement.setTimestamp(4, Timestamp.from(score.getSubmittedAt()));
+        });
+    }
+}
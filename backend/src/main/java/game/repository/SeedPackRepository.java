@@ -0,0 +1,7 @@
+package game.repository;
+
+import game.model.SeedPackEntity;
+import org.springframework.data.repository.CrudRepository;
+
+public interface SeedPackRepository extends CrudRepository<SeedPackEntity, String> {
+}
@@ -0,0 +1,74 @@
+package game.restservice;
+
+import game.dto.MapDto;
+import game.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the reads of {@link MapService} on a bounded pool of its own, so that
+ * the request threads are given back to the server while the database works.
+ * The number of connections then no longer depends on the number of request
+ * threads, and a slow database fills the queue of the pool instead of the
+ * thread pool of the server. Reads arriving when the queue is full fail with
+ * a {@link RejectedExecutionException}.
+ */
+@Service
+@ConditionalOnProperty(name = "game.maps.read-path", havingValue = "async")
+public class AsyncMapService {
+
+    private final MapService service;
+    private final ThreadPoolExecutor executor;
+
+    public AsyncMapService(MapService service, MetricsRegistry metrics,
+                           @Value("${game.maps.async.threads:16}") int threads,
+                           @Value("${game.maps.async.queue-capacity:10000}") int queueCapacity) {
+        this.service = service;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("map-read-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        metrics.gauge("game.maps.async.active", executor::getActiveCount);
+        metrics.gauge("game.maps.async.queued", () -> executor.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<String> getMapNamesVersion() {
+        return supply(service::getMapNamesVersion);
+    }
+
+    // Only reads the name index, loaded by getMapNamesVersion
+    public List<String> getMapNames() {
+        return service.getMapNames();
+    }
+
+    public CompletableFuture<String> getVersionedHash(String name) {
+        return supply(() -> service.getVersionedHash(name));
+    }
+
+    public CompletableFuture<MapDto> getMapByName(String name) {
+        return supply(() -> service.getMapByName(name));
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> read) {
+        try {
+            return CompletableFuture.supplyAsync(read, executor);
+        } catch (RejectedExecutionException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+}
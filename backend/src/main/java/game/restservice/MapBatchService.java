@@ -0,0 +1,104 @@
+package game.restservice;
+
+import game.cache.MapCache;
+import game.dto.MapBatchDto;
+import game.dto.MapBatchRequestDto;
+import game.dto.MapDto;
+import game.exception.BadRequestException;
+import game.model.MapEntity;
+import game.repository.MapRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup of several maps at once. The names are served from the map cache
+ * when present and the others are loaded with a single IN query, which also
+ * caches them. The ids, which the cache is not keyed by, take one more query.
+ * Only these queries run in a transaction.
+ */
+@Service
+@Transactional(propagation = Propagation.SUPPORTS)
+public class MapBatchService {
+
+    private final MapService mapService;
+    private final MapRepository repository;
+    private final MapCache cache;
+    private final int maxSize;
+    private final TransactionTemplate readTransaction;
+
+    public MapBatchService(MapService mapService, MapRepository repository, MapCache cache,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${game.maps.batch.max-size:100}") int maxSize) {
+        this.mapService = mapService;
+        this.repository = repository;
+        this.cache = cache;
+        this.maxSize = maxSize;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public MapBatchDto getMaps(MapBatchRequestDto request) {
+        Collection<String> names = request == null || request.names() == null
+                ? List.of() : new LinkedHashSet<>(request.names());
+        Collection<Integer> ids = request == null || request.ids() == null
+                ? List.of() : new LinkedHashSet<>(request.ids());
+        if (names.isEmpty() && ids.isEmpty()) {
+            throw new BadRequestException("At least one name or id is required");
+        }
+        if (names.size() + ids.size() > maxSize) {
+            throw new BadRequestException("At most " + maxSize + " maps can be fetched at once");
+        }
+        if (names.contains(null) || ids.contains(null)) {
+            throw new BadRequestException("The names and ids cannot be null");
+        }
+
+        List<MapDto> maps = new ArrayList<>(names.size() + ids.size());
+        List<String> missingNames = new ArrayList<>();
+        List<Integer> missingIds = new ArrayList<>();
+        if (!names.isEmpty()) {
+            for (Map.Entry<String, Optional<MapDto>> entry : cache.getAll(names, this::loadByNames).entrySet()) {
+                entry.getValue().ifPresentOrElse(maps::add, () -> missingNames.add(entry.getKey()));
+            }
+        }
+        if (!ids.isEmpty()) {
+            Map<Integer, MapDto> byId = readTransaction.execute(status -> {
+                Map<Integer, MapDto> found = new HashMap<>();
+                for (MapEntity entity : repository.findByIdIn(ids)) {
+                    found.put(entity.getId(), mapService.toDto(entity));
+                }
+                return found;
+            });
+            for (Integer id : ids) {
+                MapDto map = byId.get(id);
+                if (map != null) {
+                    maps.add(map);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+        }
+        return new MapBatchDto(maps, missingNames, missingIds);
+    }
+
+    private Map<String, MapDto> loadByNames(Collection<String> names) {
+        return readTransaction.execute(status -> {
+            Map<String, MapDto> loaded = new HashMap<>();
+            for (MapEntity entity : repository.findByNameIn(names)) {
+                loaded.put(entity.getName(), mapService.toDto(entity));
+            }
+            return loaded;
+        });
+    }
+}
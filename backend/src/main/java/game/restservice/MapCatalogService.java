@@ -0,0 +1,147 @@
+package game.restservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import game.dto.MapBinaryFormat;
+import game.dto.MapDto;
+import game.dto.MapPageDto;
+import game.exception.BadRequestException;
+import game.model.TileGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Walks the map catalog without holding it in memory: pages are selected
+ * with a keyset on the name, and exports are written page by page with a
+ * keyset on the id. A page is read before it is written, so that no
+ * connection is held while a slow client reads the export, the maps created
+ * during an export after its current page being exported too.
+ *
+ * Chunked maps have no tiles in their row and cannot be imported in bulk:
+ * an export with the tiles leaves them out, so that it can be imported again.
+ */
+@Service
+public class MapCatalogService {
+
+    private static final String PAGE_SQL = "SELECT id, name, width, height FROM maps WHERE name > ? ORDER BY name LIMIT ?";
+    private static final String PAGE_WITH_TILES_SQL = "SELECT id, name, width, height, tiles FROM maps WHERE name > ? ORDER BY name LIMIT ?";
+    private static final String EXPORT_SQL = "SELECT id, name, width, height FROM maps WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String EXPORT_WITH_TILES_SQL =
+            "SELECT id, name, width, height, tiles FROM maps WHERE id > ? AND tiles IS NOT NULL ORDER BY id LIMIT ?";
+    private static final String COUNT_CHUNKED_SQL = "SELECT COUNT(*) FROM maps WHERE tiles IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper mapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int exportPageSize;
+
+    public MapCatalogService(JdbcTemplate jdbcTemplate, ObjectMapper mapper,
+                             @Value("${game.catalog.default-page-size:100}") int defaultPageSize,
+                             @Value("${game.catalog.max-page-size:1000}") int maxPageSize,
+                             @Value("${game.catalog.export-page-size:500}") int exportPageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapper = mapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.exportPageSize = exportPageSize;
+    }
+
+    /**
+     * Maps sorted by name, starting after the given name.
+     *
+     * @param after the cursor returned with the previous page, null for the first page
+     */
+    public MapPageDto getPage(String after, Integer limit, boolean withTiles) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("The page size must be between 1 and " + maxPageSize);
+        }
+        // Ask for one more row to know whether there is a next page
+        List<MapDto> items = jdbcTemplate.query(withTiles ? PAGE_WITH_TILES_SQL : PAGE_SQL,
+                rowMapper(withTiles), after == null ? "" : after, size + 1);
+        if (items.size() <= size) {
+            return new MapPageDto(items, null);
+        }
+        List<MapDto> page = items.subList(0, size);
+        return new MapPageDto(page, page.get(size - 1).getName());
+    }
+
+    /**
+     * Number of chunked maps, left out of the exports with the tiles.
+     */
+    public int countChunkedMaps() {
+        Integer count = jdbcTemplate.queryForObject(COUNT_CHUNKED_SQL, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Writes every map as one JSON object per line, in id order.
+     */
+    public void export(OutputStream out, boolean withTiles) throws IOException {
+        try (SequenceWriter writer = mapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            int rows = forEachMap(withTiles, writer::write);
+            if (rows > 0) {
+                writer.flush();
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Writes every map in the binary batch format of {@link MapBinaryFormat}, in id order.
+     */
+    public void exportBinary(OutputStream out, boolean withTiles) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        forEachMap(withTiles, map -> MapBinaryFormat.write(map, data));
+        data.flush();
+    }
+
+    private interface MapWriter {
+        void write(MapDto map) throws IOException;
+    }
+
+    // Writes the maps page by page, the connection being released before each page is written
+    private int forEachMap(boolean withTiles, MapWriter writer) throws IOException {
+        RowMapper<MapDto> rowMapper = rowMapper(withTiles);
+        int rows = 0;
+        int after = Integer.MIN_VALUE;
+        List<MapDto> page;
+        do {
+            page = jdbcTemplate.query(withTiles ? EXPORT_WITH_TILES_SQL : EXPORT_SQL, rowMapper, after, exportPageSize);
+            for (MapDto map : page) {
+                writer.write(map);
+            }
+            rows += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == exportPageSize);
+        return rows;
+    }
+
+    private static RowMapper<MapDto> rowMapper(boolean withTiles) {
+        return (ResultSet resultSet, int row) -> {
+            int width = resultSet.getInt("width");
+            int height = resultSet.getInt("height");
+            return new MapDto(resultSet.getInt("id"), resultSet.getString("name"), width, height,
+                    withTiles ? readTiles(resultSet, width * height) : null);
+        };
+    }
+
+    // Null for chunked maps, their tiles are not in the map row
+    private static TileGrid readTiles(ResultSet resultSet, int size) throws SQLException {
+        byte[] packed = resultSet.getBytes("tiles");
+        return packed == null ? null : TileGrid.fromBytes(packed, size);
+    }
+}
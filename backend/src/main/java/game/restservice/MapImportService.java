@@ -0,0 +1,288 @@
+package game.restservice;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import game.cache.MapCache;
+import game.cache.MapNameIndex;
+import game.dto.ImportFailureDto;
+import game.dto.ImportResultDto;
+import game.dto.MapBinaryFormat;
+import game.dto.MapDto;
+import game.exception.BadRequestException;
+import game.model.ChunkLayout;
+import game.model.ContentHash;
+import game.model.MapStats;
+import game.model.TileGrid;
+import game.model.TileSignature;
+import game.repository.MapBandRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of maps. The body is parsed one map at a time, and the valid
+ * maps are inserted with JDBC batches, each batch running a single query
+ * to find the names that already exist.
+ */
+@Service
+public class MapImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO maps (name, width, height, tiles, content_hash, canonical_tiles, "
+            + MapStats.COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?" + ", ?".repeat(MapStats.COLUMN_COUNT) + ")";
+    private static final String EXISTING_NAMES_SQL = "SELECT name FROM maps WHERE name IN (:names)";
+    private static final String IDS_SQL = "SELECT id, name FROM maps WHERE name IN (:names)";
+
+    private final MapBandRepository bandRepository;
+    private final MapNameIndex nameIndex;
+    private final MapCache cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper mapper;
+    private final int batchSize;
+    private final int maxFailures;
+
+    public MapImportService(MapBandRepository bandRepository, MapNameIndex nameIndex, MapCache cache,
+                            JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                            TransactionTemplate transactionTemplate, ObjectMapper mapper,
+                            @Value("${game.import.batch-size:500}") int batchSize,
+                            @Value("${game.import.max-failures:1000}") int maxFailures) {
+        this.bandRepository = bandRepository;
+        this.nameIndex = nameIndex;
+        this.cache = cache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Imports a JSON array of maps or a stream of newline-delimited JSON maps.
+     * Batches inserted before a malformed map are kept, the error is reported in the result.
+     */
+    public ImportResultDto importMaps(InputStream body) {
+        Importer importer = new Importer();
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    return importer.finish("Map #" + importer.received + " is not a JSON object");
+                }
+                importer.add(mapper.readValue(parser, MapDto.class));
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException exception) {
+            return importer.finish("Malformed map #" + importer.received + ": " + exception.getOriginalMessage());
+        } catch (IOException exception) {
+            return importer.finish("Could not read the maps: " + exception.getMessage());
+        }
+        return importer.finish(null);
+    }
+
+    /**
+     * Imports a batch of maps in the binary format of {@link MapBinaryFormat}.
+     */
+    public ImportResultDto importBinaryMaps(InputStream body) {
+        Importer importer = new Importer();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(body));
+        try {
+            MapDto map;
+            while ((map = MapBinaryFormat.read(in)) != null) {
+                importer.add(map);
+            }
+        } catch (IllegalArgumentException exception) {
+            return importer.finish("Malformed map #" + importer.received + ": " + exception.getMessage());
+        } catch (IOException exception) {
+            return importer.finish("Could not read the maps: " + exception.getMessage());
+        }
+        return importer.finish(null);
+    }
+
+    /**
+     * Imports maps produced as they are iterated. A map the iteration cannot
+     * produce stops the import like a malformed map: the batches inserted
+     * before it are kept, the error is reported in the result.
+     */
+    public ImportResultDto importMaps(Iterable<MapDto> maps) {
+        Importer importer = new Importer();
+        try {
+            for (MapDto map : maps) {
+                importer.add(map);
+            }
+        } catch (BadRequestException exception) {
+            return importer.finish(exception.getMessage());
+        }
+        return importer.finish(null);
+    }
+
+    private record PendingMap(int index, String name, int width, int height, TileGrid tiles,
+                              byte[] canonicalTiles, MapStats stats) {
+        PendingMap(int index, String name, int width, int height, TileGrid tiles) {
+            this(index, name, width, height, tiles,
+                    TileSignature.isIndexed(width, height) ? TileSignature.canonical(tiles) : null,
+                    MapStats.of(tiles, width, height));
+        }
+
+        String contentHash() {
+            return ContentHash.of(name, width, height, tiles);
+        }
+
+        void setValues(PreparedStatement statement) throws SQLException {
+            statement.setString(1, name);
+            statement.setInt(2, width);
+            statement.setInt(3, height);
+            statement.setBytes(4, tiles.toBytes());
+            statement.setString(5, contentHash());
+            statement.setBytes(6, canonicalTiles);
+            int[] values = stats.values();
+            for (int i = 0; i < values.length; i++) {
+                statement.setInt(7 + i, values[i]);
+            }
+        }
+    }
+
+    private final class Importer {
+        private final List<PendingMap> batch = new ArrayList<>(batchSize);
+        private final List<ImportFailureDto> failures = new ArrayList<>();
+        private int received;
+        private int created;
+        private int duplicates;
+        private int invalid;
+        private int omittedFailures;
+
+        void add(MapDto dto) {
+            int index = received++;
+            try {
+                TileGrid tiles = MapService.validateDto(dto);
+                int width = MapService.widthOf(dto);
+                int height = MapService.heightOf(dto);
+                // Chunked maps need their generated id to insert their chunks
+                if (ChunkLayout.isChunked(width, height)) {
+                    throw new BadRequestException("Maps larger than " + ChunkLayout.CHUNK_SIZE + "x"
+                            + ChunkLayout.CHUNK_SIZE + " must be created one at a time");
+                }
+                batch.add(new PendingMap(index, dto.getName(), width, height, tiles));
+            } catch (BadRequestException exception) {
+                invalid++;
+                fail(new ImportFailureDto(index, dto.getName(), exception.getMessage()));
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        ImportResultDto finish(String error) {
+            flush();
+            logger.info("Imported {} of {} maps", created, received);
+            return new ImportResultDto(received, created, duplicates, invalid, failures, omittedFailures, error);
+        }
+
+        private void fail(ImportFailureDto failure) {
+            if (failures.size() < maxFailures) {
+                failures.add(failure);
+            } else {
+                omittedFailures++;
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) return;
+
+            List<String> names = batch.stream().map(PendingMap::name).toList();
+            Set<String> taken = new HashSet<>(namedJdbcTemplate.queryForList(
+                    EXISTING_NAMES_SQL, Map.of("names", names), String.class));
+            List<PendingMap> toInsert = new ArrayList<>(batch.size());
+            for (PendingMap map : batch) {
+                if (taken.add(map.name())) {
+                    toInsert.add(map);
+                } else {
+                    duplicate(map);
+                }
+            }
+            List<String> inserted = insert(toInsert);
+            created += inserted.size();
+            // Within the transaction of a caller, the maps are only visible once it commits
+            MapService.afterCommit(() -> {
+                nameIndex.addAll(inserted);
+                inserted.forEach(cache::invalidate);
+            });
+            batch.clear();
+        }
+
+        private List<String> insert(List<PendingMap> maps) {
+            if (maps.isEmpty()) return List.of();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, maps, maps.size(),
+                            (statement, map) -> map.setValues(statement));
+                    indexBands(maps);
+                });
+                return maps.stream().map(PendingMap::name).toList();
+            } catch (DuplicateKeyException exception) {
+                // A concurrent save took one of the names, retry the batch one map at a time
+                List<String> inserted = new ArrayList<>(maps.size());
+                for (PendingMap map : maps) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            jdbcTemplate.update(INSERT_SQL, map::setValues);
+                            indexBands(List.of(map));
+                        });
+                        inserted.add(map.name());
+                    } catch (DuplicateKeyException duplicate) {
+                        duplicate(map);
+                    }
+                }
+                return inserted;
+            }
+        }
+
+        // Inserts the similarity bands of the maps, once they have their generated ids
+        private void indexBands(List<PendingMap> maps) {
+            Map<String, byte[]> canonicalByName = new HashMap<>();
+            for (PendingMap map : maps) {
+                if (map.canonicalTiles() != null) {
+                    canonicalByName.put(map.name(), map.canonicalTiles());
+                }
+            }
+            if (canonicalByName.isEmpty()) return;
+            Map<Integer, byte[]> canonicalById = new HashMap<>();
+            namedJdbcTemplate.query(IDS_SQL, Map.of("names", canonicalByName.keySet()), (ResultSet resultSet) -> {
+                canonicalById.put(resultSet.getInt("id"), canonicalByName.get(resultSet.getString("name")));
+            });
+            bandRepository.insertBands(canonicalById);
+        }
+
+        private void duplicate(PendingMap map) {
+            duplicates++;
+            fail(new ImportFailureDto(map.index(), map.name(), "Map already exists: " + map.name()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package game.restservice;
+
+import game.dto.ChunkDto;
+import game.dto.MapDto;
+import game.dto.RegionDto;
+import game.exception.BadRequestException;
+import game.model.ChunkLayout;
+import game.model.MapChunkEntity;
+import game.model.TileGrid;
+import game.repository.MapChunkRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static game.model.ChunkLayout.CHUNK_SIZE;
+
+/**
+ * Serves the tiles of a viewport of a map, as the chunks overlapping it.
+ * Only those chunks are loaded, never the whole map.
+ */
+@Service
+public class MapRegionService {
+
+    private final MapService mapService;
+    private final MapChunkRepository chunkRepository;
+    private final int maxChunks;
+
+    public MapRegionService(MapService mapService, MapChunkRepository chunkRepository,
+                            @Value("${game.maps.max-region-chunks:16}") int maxChunks) {
+        this.mapService = mapService;
+        this.chunkRepository = chunkRepository;
+        this.maxChunks = maxChunks;
+    }
+
+    @Transactional(readOnly = true)
+    public RegionDto getRegion(String name, int x, int y, int width, int height) {
+        MapDto map = mapService.getMapByName(name);
+        int mapWidth = map.getWidth();
+        int mapHeight = map.getHeight();
+        if (x < 0 || y < 0 || width < 1 || height < 1 || x > mapWidth - width || y > mapHeight - height) {
+            throw new BadRequestException("The region must be inside the " + mapWidth + "x" + mapHeight + " map");
+        }
+        int minX = x / CHUNK_SIZE;
+        int maxX = (x + width - 1) / CHUNK_SIZE;
+        int minY = y / CHUNK_SIZE;
+        int maxY = (y + height - 1) / CHUNK_SIZE;
+        if ((maxX - minX + 1) * (maxY - minY + 1) > maxChunks) {
+            throw new BadRequestException("A region can cover at most " + maxChunks + " chunks of "
+                    + CHUNK_SIZE + "x" + CHUNK_SIZE + " tiles");
+        }
+
+        // A map that is not chunked is a single chunk, already in the cached DTO
+        if (map.getGrid() != null) {
+            ChunkDto chunk = new ChunkDto(0, 0, mapWidth, mapHeight, map.getGrid().asList());
+            return new RegionDto(map.getName(), mapWidth, mapHeight, CHUNK_SIZE, List.of(chunk));
+        }
+
+        List<MapChunkEntity> entities = chunkRepository.findRegion(map.getId(), minX, maxX, minY, maxY);
+        List<ChunkDto> chunks = new ArrayList<>(entities.size());
+        for (MapChunkEntity entity : entities) {
+            int chunkWidth = ChunkLayout.chunkLength(mapWidth, entity.getChunkX());
+            int chunkHeight = ChunkLayout.chunkLength(mapHeight, entity.getChunkY());
+            TileGrid tiles = TileGrid.fromBytes(entity.getTiles(), chunkWidth * chunkHeight);
+            chunks.add(new ChunkDto(entity.getChunkX() * CHUNK_SIZE, entity.getChunkY() * CHUNK_SIZE,
+                    chunkWidth, chunkHeight, tiles.asList()));
+        }
+        return new RegionDto(map.getName(), mapWidth, mapHeight, CHUNK_SIZE, chunks);
+    }
+}
@@ -0,0 +1,113 @@
+package game.restservice;
+
+import game.dto.MapDto;
+import game.dto.MapStatsDto;
+import game.exception.BadRequestException;
+import game.model.MapEntity;
+import game.repository.MapRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filters and sorts maps on their composition statistics, which are
+ * indexed columns of the maps table, without reading their tiles.
+ *
+ * A filter is a parameter named min or max followed by a statistic, such
+ * as minWaterTiles=20 or minLargestTreeArea=10. The results are sorted on
+ * a statistic with sort and order, then by name.
+ */
+@Service
+public class MapSearchService {
+
+    public static final List<String> STATS = List.of(
+            "plainTiles", "treeTiles", "waterTiles",
+            "largestPlainArea", "largestTreeArea", "largestWaterArea",
+            "plainTreeEdges", "plainWaterEdges", "treeWaterEdges");
+
+    private final MapRepository repository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public MapSearchService(MapRepository repository,
+                            @Value("${game.catalog.default-page-size:100}") int defaultPageSize,
+                            @Value("${game.catalog.max-page-size:1000}") int maxPageSize) {
+        this.repository = repository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MapDto> search(Map<String, String> filters, String sort, String order, Integer page, Integer limit) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("The page size must be between 1 and " + maxPageSize);
+        }
+        if (page != null && page < 0) {
+            throw new BadRequestException("The page must be positive");
+        }
+        if (sort != null && !STATS.contains(sort)) {
+            throw new BadRequestException("Unknown statistic: " + sort + ", expected one of " + STATS);
+        }
+        Sort.Direction direction;
+        try {
+            direction = order == null ? Sort.Direction.ASC : Sort.Direction.fromString(order);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("The order must be asc or desc");
+        }
+        Sort byName = Sort.by("name");
+        Sort sorting = sort == null ? byName : Sort.by(direction, "stats." + sort).and(byName);
+
+        List<MapEntity> entities = repository.findAll(toSpecification(filters),
+                PageRequest.of(page == null ? 0 : page, size, sorting)).getContent();
+        List<MapDto> maps = new ArrayList<>(entities.size());
+        for (MapEntity entity : entities) {
+            MapDto map = new MapDto(entity.getId(), entity.getName(), entity.getWidth(), entity.getHeight(), null);
+            map.setStats(MapStatsDto.of(entity.getStats()));
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    private static Specification<MapEntity> toSpecification(Map<String, String> filters) {
+        List<Bound> bounds = new ArrayList<>(filters.size());
+        filters.forEach((name, value) -> bounds.add(parse(name, value)));
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>(bounds.size());
+            for (Bound bound : bounds) {
+                var path = root.get("stats").<Integer>get(bound.stat());
+                predicates.add(bound.min()
+                        ? builder.greaterThanOrEqualTo(path, bound.value())
+                        : builder.lessThanOrEqualTo(path, bound.value()));
+            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Bound parse(String name, String value) {
+        boolean min = name.startsWith("min");
+        if (!min && !name.startsWith("max") || name.length() <= 3) {
+            throw new BadRequestException("Unknown filter: " + name);
+        }
+        String stat = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        if (!STATS.contains(stat)) {
+            throw new BadRequestException("Unknown filter: " + name + ", expected min or max followed by one of " + STATS);
+        }
+        try {
+            return new Bound(stat, min, Integer.parseInt(value));
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("The filter " + name + " must be an integer");
+        }
+    }
+
+    private record Bound(String stat, boolean min, int value) {
+    }
+}
@@ -1,71 +1,230 @@
 package game.restservice;
 
+import game.cache.MapCache;
+import game.cache.MapNameIndex;
 import game.dto.MapDto;
+import game.dto.MapStatsDto;
 import game.exception.BadRequestException;
 import game.exception.NotFoundException;
+import game.model.ChunkLayout;
+import game.model.ContentHash;
 import game.model.MapEntity;
+import game.model.TileSignature;
+import game.model.TileGrid;
+import game.repository.MapBandRepository;
+import game.repository.MapChunkRepository;
 import game.repository.MapRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Transactional
 public class MapService {
 
+    // Length of the name column
+    static final int MAX_NAME_LENGTH = 255;
+    // SQL state of a unique constraint violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final MapRepository repository;
+    private final MapChunkRepository chunkRepository;
+    private final MapBandRepository bandRepository;
+    private final MapNameIndex nameIndex;
+    private final MapCache cache;
+    private final boolean rejectDuplicates;
+    // Only the cache misses take a connection, the lookups served from memory run outside of a transaction
+    private final TransactionTemplate readTransaction;
 
-    public MapService(MapRepository repository) {
+    public MapService(MapRepository repository, MapChunkRepository chunkRepository,
+                      MapBandRepository bandRepository, MapNameIndex nameIndex, MapCache cache,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${game.similarity.reject-duplicates:false}") boolean rejectDuplicates) {
         this.repository = repository;
+        this.chunkRepository = chunkRepository;
+        this.bandRepository = bandRepository;
+        this.nameIndex = nameIndex;
+        this.cache = cache;
+        this.rejectDuplicates = rejectDuplicates;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<String> getMapNames() {
-        return repository.findAllAsList().stream()
-                .map(MapEntity::getName)
-                .toList();
+        return nameIndex.getNames();
+    }
+
+    // Changes whenever a map is added, served as the ETag of the name list
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getMapNamesVersion() {
+        return nameIndex.getVersion();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public MapDto getMapByName(String name) {
-        MapEntity e = repository.findByName(name)
+        return cache.get(name, this::loadMapByName)
                 .orElseThrow(() -> new NotFoundException("Map not found: " + name));
-        return toDto(e);
+    }
+
+    /**
+     * The content hash of a map with its version, read from the cache or from
+     * the columns without loading the tiles. Null when the map is unknown or
+     * was saved before its hash was stored.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getVersionedHash(String name) {
+        MapDto cached = cache.getIfPresent(name);
+        if (cached != null) {
+            return ContentHash.versioned(cached.getContentHash(), cached.getVersion());
+        }
+        return readTransaction.execute(status -> repository.findHashVersionByName(name)
+                .filter(stored -> stored.getContentHash() != null)
+                .map(stored -> ContentHash.versioned(stored.getContentHash(),
+                        stored.getVersion() == null ? 1 : stored.getVersion()))
+                .orElse(null));
+    }
+
+    private Optional<MapDto> loadMapByName(String name) {
+        return readTransaction.execute(status -> repository.findByName(name).map(this::toDto));
     }
 
     public MapDto saveMap(MapDto dto) {
-        validateDto(dto);
+        return saveMap(dto, rejectDuplicates);
+    }
 
-        repository.findByName(dto.getName()).ifPresent(existing -> {
-            throw new BadRequestException("Map already exists: " + dto.getName());
-        });
+    /**
+     * @param rejectDuplicates also reject an 8x8 map whose tiles are those of an existing map,
+     *                         up to a rotation or a reflection
+     */
+    public MapDto saveMap(MapDto dto, boolean rejectDuplicates) {
+        TileGrid tiles = validateDto(dto);
+        if (rejectDuplicates && TileSignature.isIndexed(widthOf(dto), heightOf(dto))) {
+            List<String> duplicates = repository.findNamesByCanonicalTiles(TileSignature.canonical(tiles));
+            if (!duplicates.isEmpty()) {
+                throw new BadRequestException("Map is a duplicate of " + duplicates.get(0));
+            }
+        }
 
-        MapEntity entity = toEntity(dto);
-        MapEntity saved = repository.save(entity);
+        // A single insert, the unique constraint on the name rejects duplicates
+        MapEntity entity = toEntity(dto, tiles);
+        MapEntity saved;
+        try {
+            saved = repository.save(entity);
+        } catch (DataIntegrityViolationException exception) {
+            if (isDuplicateKey(exception)) {
+                throw new BadRequestException("Map already exists: " + dto.getName());
+            }
+            throw exception;
+        }
+        if (saved.isChunked()) {
+            chunkRepository.insertChunks(saved.getId(), saved.getWidth(), saved.getHeight(), tiles);
+        }
+        if (saved.getCanonicalTiles() != null) {
+            bandRepository.insertBands(Map.of(saved.getId(), saved.getCanonicalTiles()));
+        }
+        afterCommit(() -> {
+            nameIndex.add(saved.getName());
+            cache.invalidate(saved.getName());
+        });
         return toDto(saved);
     }
 
-    private void validateDto(MapDto dto) {
+    // The name is the only unique column of the maps, JPA reports its violation without the DuplicateKeyException of JDBC
+    static boolean isDuplicateKey(DataIntegrityViolationException exception) {
+        if (exception instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Runs the action once the current transaction commits, or right away outside of one
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Validates the DTO and packs its tiles in the same pass
+    static TileGrid validateDto(MapDto dto) {
         if (dto.getName() == null || dto.getName().trim().isEmpty()) {
             throw new BadRequestException("Map name is required");
         }
-        if (dto.getTiles() == null || dto.getTiles().size() != 64) {
-            throw new BadRequestException("Tiles must be a list of 64 integers");
+        if (dto.getName().length() > MAX_NAME_LENGTH) {
+            throw new BadRequestException("Map name is longer than " + MAX_NAME_LENGTH + " characters");
         }
-        boolean invalid = dto.getTiles().stream().anyMatch(v -> v == null || v < 0 || v > 2);
-        if (invalid) {
-            throw new BadRequestException("Each tile value must be 0, 1 or 2");
+        int width = widthOf(dto);
+        int height = heightOf(dto);
+        if (width < 1 || width > ChunkLayout.MAX_MAP_SIZE || height < 1 || height > ChunkLayout.MAX_MAP_SIZE) {
+            throw new BadRequestException("Width and height must be between 1 and " + ChunkLayout.MAX_MAP_SIZE);
         }
+        int tileCount = width * height;
+        // Maps read from the binary format are already packed and validated
+        if (dto.getGrid() != null && dto.getGrid().size() == tileCount) {
+            return dto.getGrid();
+        }
+        List<Integer> tiles = dto.getTiles();
+        if (tiles == null || tiles.size() != tileCount) {
+            throw new BadRequestException("Tiles must be a list of " + tileCount + " integers");
+        }
+        TileGrid grid = new TileGrid(tileCount);
+        int index = 0;
+        for (Integer v : tiles) {
+            if (v == null || v < 0 || v > TileGrid.MAX_TILE_VALUE) {
+                throw new BadRequestException("Each tile value must be 0, 1 or 2");
+            }
+            grid.set(index++, v);
+        }
+        return grid;
+    }
+
+    static int widthOf(MapDto dto) {
+        return dto.getWidth() == null ? MapEntity.DEFAULT_SIZE : dto.getWidth();
+    }
+
+    static int heightOf(MapDto dto) {
+        return dto.getHeight() == null ? MapEntity.DEFAULT_SIZE : dto.getHeight();
     }
 
-    private MapDto toDto(MapEntity e) {
-        return new MapDto(e.getId(), e.getName(), e.getTiles());
+    // The tiles of chunked maps are left out, they are served by region
+    MapDto toDto(MapEntity e) {
+        MapDto dto = new MapDto(e.getId(), e.getName(), e.getWidth(), e.getHeight(),
+                e.isChunked() ? null : e.getTiles());
+        dto.setStats(MapStatsDto.of(e.getStats()));
+        dto.setContentHash(e.getContentHash() != null
+                ? e.getContentHash()
+                : ContentHash.of(e.getName(), e.getWidth(), e.getHeight(), e.getTiles()));
+        dto.setVersion(e.getVersion());
+        return dto;
     }
 
-    private MapEntity toEntity(MapDto dto) {
-        MapEntity entity = new MapEntity();
+    MapEntity toEntity(MapDto dto, TileGrid tiles) {
+        MapEntity entity = new MapEntity(dto.getName(), widthOf(dto), heightOf(dto), tiles);
         entity.setId(dto.getId());
-        entity.setName(dto.getName());
-        entity.setTiles(dto.getTiles());
         return entity;
     }
 }
@@ -0,0 +1,79 @@
+package game.restservice;
+
+import game.dto.MapDto;
+import game.dto.SimilarMapDto;
+import game.exception.BadRequestException;
+import game.model.MapEntity;
+import game.model.TileSignature;
+import game.repository.MapRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the maps whose layout is close to the one of a map, up to a
+ * rotation or a reflection. Candidates are the maps sharing a band with one
+ * of the orientations of the map, see {@link TileSignature}, and only those
+ * are compared tile by tile.
+ */
+@Service
+public class MapSimilarityService {
+
+    private final MapService mapService;
+    private final MapRepository repository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public MapSimilarityService(MapService mapService, MapRepository repository,
+                                @Value("${game.similarity.default-limit:20}") int defaultLimit,
+                                @Value("${game.similarity.max-limit:100}") int maxLimit) {
+        this.mapService = mapService;
+        this.repository = repository;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Other maps differing from the named map on at most maxDistance tiles, closest first.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarMapDto> findSimilar(String name, Integer maxDistance, Integer limit) {
+        int distance = maxDistance == null ? TileSignature.MAX_DISTANCE : maxDistance;
+        if (distance < 0 || distance > TileSignature.MAX_DISTANCE) {
+            throw new BadRequestException("The distance must be between 0 and " + TileSignature.MAX_DISTANCE);
+        }
+        int size = limit == null ? defaultLimit : limit;
+        if (size < 1 || size > maxLimit) {
+            throw new BadRequestException("The limit must be between 1 and " + maxLimit);
+        }
+        MapDto map = mapService.getMapByName(name);
+        if (map.getGrid() == null || !TileSignature.isIndexed(map.getWidth(), map.getHeight())) {
+            throw new BadRequestException("Only " + TileSignature.SIZE + "x" + TileSignature.SIZE + " maps are indexed");
+        }
+
+        byte[][] orientations = TileSignature.orientations(map.getGrid());
+        Set<Long> bandKeys = new HashSet<>();
+        for (byte[] orientation : orientations) {
+            for (long key : TileSignature.bandKeys(orientation)) {
+                bandKeys.add(key);
+            }
+        }
+
+        List<SimilarMapDto> similar = new ArrayList<>();
+        for (MapEntity candidate : repository.findByBandKeys(bandKeys)) {
+            if (candidate.getName().equals(map.getName())) continue;
+            int candidateDistance = TileSignature.distance(orientations, candidate.getCanonicalTiles());
+            if (candidateDistance <= distance) {
+                similar.add(new SimilarMapDto(candidate.getName(), candidateDistance));
+            }
+        }
+        similar.sort(Comparator.comparingInt(SimilarMapDto::distance).thenComparing(SimilarMapDto::name));
+        return similar.size() > size ? similar.subList(0, size) : similar;
+    }
+}
@@ -0,0 +1,164 @@
+package game.restservice;
+
+import game.cache.MapCache;
+import game.dto.MapDiffDto;
+import game.dto.MapDto;
+import game.dto.MapStatsDto;
+import game.dto.TileChangeDto;
+import game.exception.BadRequestException;
+import game.exception.ConflictException;
+import game.exception.NotFoundException;
+import game.model.ChunkLayout;
+import game.model.ContentHash;
+import game.model.MapEntity;
+import game.model.MapRevisionEntity;
+import game.model.MapStats;
+import game.model.TileDelta;
+import game.model.TileGrid;
+import game.repository.MapBandRepository;
+import game.repository.MapRepository;
+import game.repository.MapRevisionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates of the tiles of maps, with their history. The maps table keeps the
+ * current tiles, and each version is stored in map_revisions as a
+ * {@link TileDelta} from the previous one, with a full snapshot every
+ * snapshot interval versions so that rebuilding a version reads a bounded
+ * number of revisions. A map gets its first revision, a snapshot of its
+ * original tiles, when it is first updated.
+ */
+@Service
+@Transactional
+public class MapVersionService {
+
+    private final MapService mapService;
+    private final MapRepository repository;
+    private final MapRevisionRepository revisionRepository;
+    private final MapBandRepository bandRepository;
+    private final MapCache cache;
+    private final EntityManager entityManager;
+    private final int snapshotInterval;
+
+    public MapVersionService(MapService mapService, MapRepository repository,
+                             MapRevisionRepository revisionRepository, MapBandRepository bandRepository,
+                             MapCache cache, EntityManager entityManager,
+                             @Value("${game.maps.versions.snapshot-interval:16}") int snapshotInterval) {
+        this.mapService = mapService;
+        this.repository = repository;
+        this.revisionRepository = revisionRepository;
+        this.bandRepository = bandRepository;
+        this.cache = cache;
+        this.entityManager = entityManager;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Replaces the tiles of a map, the new tiles becoming its next version.
+     * An update with the tiles of the current version is ignored.
+     *
+     * @throws ConflictException if the version of the DTO is set and is not the current version
+     */
+    public MapDto updateMap(MapDto dto) {
+        TileGrid tiles = MapService.validateDto(dto);
+        MapEntity entity = repository.findByNameForUpdate(dto.getName())
+                .orElseThrow(() -> new NotFoundException("Map not found: " + dto.getName()));
+        if (entity.isChunked() || MapService.widthOf(dto) != entity.getWidth()
+                || MapService.heightOf(dto) != entity.getHeight()) {
+            throw new BadRequestException("Only the tiles of maps up to " + ChunkLayout.CHUNK_SIZE + "x"
+                    + ChunkLayout.CHUNK_SIZE + " can be updated, keeping their size");
+        }
+        if (dto.getVersion() != null && dto.getVersion() != entity.getVersion()) {
+            throw new ConflictException("Map " + entity.getName() + " is at version " + entity.getVersion()
+                    + ", not " + dto.getVersion());
+        }
+
+        byte[] previous = entity.getTiles().toBytes();
+        byte[] next = tiles.toBytes();
+        if (Arrays.equals(previous, next)) {
+            return mapService.toDto(entity);
+        }
+        if (!revisionRepository.existsByMapId(entity.getId())) {
+            revisionRepository.save(new MapRevisionEntity(entity.getId(), entity.getVersion(), true, previous));
+        }
+        int version = entity.getVersion() + 1;
+        byte[] delta = TileDelta.encode(previous, next);
+        boolean snapshot = (version - 1) % snapshotInterval == 0 || delta.length >= next.length;
+        revisionRepository.save(new MapRevisionEntity(entity.getId(), version, snapshot, snapshot ? next : delta));
+
+        entity.setTiles(tiles);
+        entity.setVersion(version);
+        // Computes the content hash, the statistics and the canonical tiles of the new tiles
+        entityManager.flush();
+        bandRepository.deleteByMapId(entity.getId());
+        if (entity.getCanonicalTiles() != null) {
+            bandRepository.insertBands(Map.of(entity.getId(), entity.getCanonicalTiles()));
+        }
+        String name = entity.getName();
+        MapService.afterCommit(() -> cache.invalidate(name));
+        return mapService.toDto(entity);
+    }
+
+    @Transactional(readOnly = true)
+    public MapDto getMapVersion(String name, int version) {
+        MapEntity entity = findMap(name);
+        if (version == entity.getVersion()) {
+            return mapService.toDto(entity);
+        }
+        TileGrid tiles = tilesAt(entity, version);
+        MapDto dto = new MapDto(entity.getId(), entity.getName(), entity.getWidth(), entity.getHeight(), tiles);
+        dto.setStats(MapStatsDto.of(MapStats.of(tiles, entity.getWidth(), entity.getHeight())));
+        dto.setContentHash(ContentHash.of(entity.getName(), entity.getWidth(), entity.getHeight(), tiles));
+        dto.setVersion(version);
+        return dto;
+    }
+
+    /**
+     * The tiles that differ between two versions of a map, in index order.
+     */
+    @Transactional(readOnly = true)
+    public MapDiffDto diff(String name, int from, int to) {
+        MapEntity entity = findMap(name);
+        TileGrid fromTiles = tilesAt(entity, from);
+        TileGrid toTiles = tilesAt(entity, to);
+        List<TileChangeDto> changes = new ArrayList<>();
+        for (int i = 0; i < fromTiles.size(); i++) {
+            if (fromTiles.get(i) != toTiles.get(i)) {
+                changes.add(new TileChangeDto(i, i % entity.getWidth(), i / entity.getWidth(),
+                        fromTiles.get(i), toTiles.get(i)));
+            }
+        }
+        return new MapDiffDto(entity.getName(), from, to, changes);
+    }
+
+    private MapEntity findMap(String name) {
+        return repository.findByName(name).orElseThrow(() -> new NotFoundException("Map not found: " + name));
+    }
+
+    // Rebuilds the tiles of a version from the last snapshot before it
+    private TileGrid tilesAt(MapEntity entity, int version) {
+        if (version < 1 || version > entity.getVersion()) {
+            throw new NotFoundException("Map " + entity.getName() + " has no version " + version);
+        }
+        if (version == entity.getVersion()) {
+            return entity.getTiles();
+        }
+        List<MapRevisionEntity> chain = revisionRepository.findChain(entity.getId(), version);
+        if (chain.isEmpty() || !chain.get(0).isSnapshot() || chain.get(chain.size() - 1).getVersion() != version) {
+            throw new IllegalStateException("Missing revisions of map " + entity.getName() + " up to version " + version);
+        }
+        byte[] tiles = chain.get(0).getData().clone();
+        for (MapRevisionEntity revision : chain.subList(1, chain.size())) {
+            TileDelta.apply(tiles, revision.getData());
+        }
+        return TileGrid.fromBytes(tiles, entity.getWidth() * entity.getHeight());
+    }
+}
@@ -0,0 +1,79 @@
+package game.restservice;
+
+import game.dto.ImportResultDto;
+import game.dto.MapDto;
+import game.dto.SeedPackFormat;
+import game.exception.BadRequestException;
+import game.model.ChunkLayout;
+import game.model.ContentHash;
+import game.model.SeedPackEntity;
+import game.repository.SeedPackRepository;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Loads the seed packs. A pack is identified by the hash of its content: a
+ * pack already recorded in the database is skipped without being parsed, and
+ * a new pack is inserted with the bulk import in a single transaction, along
+ * with its record, so that it is loaded entirely or not at all.
+ */
+@Service
+public class SeedPackService {
+
+    private final MapImportService importService;
+    private final SeedPackRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SeedPackService(MapImportService importService, SeedPackRepository repository,
+                           TransactionTemplate transactionTemplate) {
+        this.importService = importService;
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return the result of the import, null when the pack was already loaded
+     * @throws IllegalArgumentException when the pack is malformed or holds invalid maps, nothing is then loaded
+     */
+    public ImportResultDto load(Resource pack) throws IOException {
+        byte[] content;
+        try (InputStream in = pack.getInputStream()) {
+            content = in.readAllBytes();
+        }
+        String version = ContentHash.ofBytes(content);
+        if (repository.existsById(version)) {
+            return null;
+        }
+
+        List<MapDto> maps = SeedPackFormat.read(content);
+        // Validated up front, so that the name index is not left with the maps of a rolled back pack
+        for (MapDto map : maps) {
+            if (ChunkLayout.isChunked(MapService.widthOf(map), MapService.heightOf(map))) {
+                throw new IllegalArgumentException("Map " + map.getName() + " in seed pack " + pack.getFilename()
+                        + " is larger than " + ChunkLayout.CHUNK_SIZE + "x" + ChunkLayout.CHUNK_SIZE
+                        + ", seed packs only hold maps up to that size");
+            }
+            try {
+                MapService.validateDto(map);
+            } catch (BadRequestException exception) {
+                throw new IllegalArgumentException("Invalid map " + map.getName() + " in seed pack "
+                        + pack.getFilename() + ": " + exception.getMessage());
+            }
+        }
+        return transactionTemplate.execute(status -> {
+            ImportResultDto result = importService.importMaps(maps);
+            if (result.error() != null || result.invalid() > 0) {
+                throw new IllegalArgumentException("Invalid seed pack " + pack.getFilename() + ": "
+                        + (result.error() != null ? result.error() : result.failures()));
+            }
+            repository.save(new SeedPackEntity(version, String.valueOf(pack.getFilename()), maps.size(), Instant.now()));
+            return result;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package game.scoring;
+
+import game.model.TileType;
+
+/**
+ * Animals that can be placed on a map, with their scoring rules.
+ * The rules mirror SCORE_RULES of the frontend GameService.
+ */
+public enum Animal {
+    //   points radius  tiles: PLAIN TREE WATER   animals: BEAR FISH FOX
+    BEAR(6, 2, new int[]{0, 4, 0}, new int[]{-5, 7, -2}),
+    FISH(8, 1, new int[]{0, 0, 5}, new int[]{0, -2, 0}),
+    FOX(5, 1, new int[]{7, 0, 0}, new int[]{0, 0, -2});
+
+    public static final int COUNT = values().length;
+
+    private final int points;
+    private final int radius;
+    private final int[] tileWeights;
+    private final int[] animalWeights;
+
+    Animal(int points, int radius, int[] tileWeights, int[] animalWeights) {
+        this.points = points;
+        this.radius = radius;
+        this.tileWeights = tileWeights;
+        this.animalWeights = animalWeights;
+    }
+
+    public int points() {
+        return points;
+    }
+
+    public int radius() {
+        return radius;
+    }
+
+    public int tileWeight(int tileType) {
+        return tileWeights[tileType];
+    }
+
+    public int animalWeight(Animal animal) {
+        return animalWeights[animal.ordinal()];
+    }
+
+    // Fish live in water, the other animals on the ground
+    public boolean canLiveOn(int tileType) {
+        return (tileType == TileType.WATER.ordinal()) == (this == FISH);
+    }
+}
@@ -0,0 +1,161 @@
+package game.scoring;
+
+import game.model.TileType;
+
+/**
+ * State of a game on an 8x8 map, following the rules of the frontend GameService:
+ * placing an animal adds its score, reaching the score limit starts a new turn
+ * that gives one more animal of each kind.
+ */
+public class GameState {
+
+    public static final int INITIAL_SCORE_LIMIT = 8;
+    public static final int SCORE_LIMIT_STEP = 8;
+
+    private final long[] tileMasks;
+    private final long[] animalMasks = new long[Animal.COUNT];
+    private final int[] inventory = new int[Animal.COUNT];
+    private int turn;
+    private int score;
+    private int scoreLimit;
+    private boolean gameOver;
+
+    public GameState(long[] tileMasks) {
+        this.tileMasks = tileMasks;
+        this.turn = 1;
+        this.scoreLimit = nextScoreLimit(0, INITIAL_SCORE_LIMIT);
+        this.inventory[Animal.BEAR.ordinal()] = 1;
+    }
+
+    /**
+     * Places the animal on the tile and returns the points it gave.
+     *
+     * @throws IllegalMoveException if the frontend would not allow the move
+     */
+    public int place(Animal animal, int tile) {
+        return apply(animal, tile).points();
+    }
+
+    /**
+     * Places the animal on the tile, only the tiles within its radius are scored.
+     *
+     * @return the placement, with what is needed to undo it
+     * @throws IllegalMoveException if the frontend would not allow the move
+     */
+    public Placement apply(Animal animal, int tile) {
+        checkMove(animal, tile);
+        Placement placement = new Placement(animal, tile,
+                ScoringEngine.placementScore(tileMasks, animalMasks, animal, tile), turn, scoreLimit);
+        score += placement.points();
+        nextTurns();
+        animalMasks[animal.ordinal()] |= 1L << tile;
+        inventory[animal.ordinal()]--;
+        gameOver = checkGameEnd();
+        return placement;
+    }
+
+    /**
+     * Removes the last placement, giving back the animal and taking back the
+     * animals of the turns it started.
+     */
+    public void undo(Placement placement) {
+        animalMasks[placement.animal().ordinal()] &= ~(1L << placement.tile());
+        score -= placement.points();
+        int turnsStarted = turn - placement.previousTurn();
+        for (int i = 0; i < Animal.COUNT; i++) {
+            inventory[i] -= turnsStarted;
+        }
+        inventory[placement.animal().ordinal()]++;
+        turn = placement.previousTurn();
+        scoreLimit = placement.previousScoreLimit();
+        gameOver = false;
+    }
+
+    public record Placement(Animal animal, int tile, int points, int previousTurn, int previousScoreLimit) {
+    }
+
+    private void checkMove(Animal animal, int tile) {
+        if (gameOver) {
+            throw new IllegalMoveException("The game is over");
+        }
+        if (tile < 0 || tile >= ScoringEngine.TILE_COUNT) {
+            throw new IllegalMoveException("Tile " + tile + " is outside of the map");
+        }
+        if (inventory[animal.ordinal()] == 0) {
+            throw new IllegalMoveException("No " + animal + " left in the inventory");
+        }
+        if ((occupied() & (1L << tile)) != 0) {
+            throw new IllegalMoveException("Tile " + tile + " already holds an animal");
+        }
+        if (!animal.canLiveOn(tileType(tile))) {
+            throw new IllegalMoveException(animal + " cannot be placed on tile " + tile);
+        }
+    }
+
+    private void nextTurns() {
+        while (score >= scoreLimit) {
+            turn++;
+            for (int i = 0; i < Animal.COUNT; i++) {
+                inventory[i]++;
+            }
+            scoreLimit = nextScoreLimit(turn, scoreLimit);
+        }
+    }
+
+    private static int nextScoreLimit(int turn, int scoreLimit) {
+        return scoreLimit + SCORE_LIMIT_STEP * turn;
+    }
+
+    private boolean checkGameEnd() {
+        int bears = inventory[Animal.BEAR.ordinal()];
+        int fish = inventory[Animal.FISH.ordinal()];
+        int foxes = inventory[Animal.FOX.ordinal()];
+        if (bears == 0 && fish == 0 && foxes == 0) return true;
+
+        long free = ~occupied();
+        boolean groundTileEmpty = ((tileMasks[TileType.PLAIN.ordinal()] | tileMasks[TileType.TREE.ordinal()]) & free) != 0;
+        boolean waterTileEmpty = (tileMasks[TileType.WATER.ordinal()] & free) != 0;
+        return (!groundTileEmpty && (!waterTileEmpty || fish == 0))
+                || (!waterTileEmpty && bears == 0 && foxes == 0);
+    }
+
+    private int tileType(int tile) {
+        long bit = 1L << tile;
+        for (int type = 0; type < TileType.COUNT; type++) {
+            if ((tileMasks[type] & bit) != 0) return type;
+        }
+        throw new IllegalStateException("Tile " + tile + " has no type");
+    }
+
+    private long occupied() {
+        long occupied = 0;
+        for (long mask : animalMasks) {
+            occupied |= mask;
+        }
+        return occupied;
+    }
+
+    public long animalMask(Animal animal) {
+        return animalMasks[animal.ordinal()];
+    }
+
+    public int inventory(Animal animal) {
+        return inventory[animal.ordinal()];
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getScoreLimit() {
+        return scoreLimit;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
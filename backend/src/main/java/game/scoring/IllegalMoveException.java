@@ -0,0 +1,7 @@
+package game.scoring;
+
+import game.exception.BadRequestException;
+
+public class IllegalMoveException extends BadRequestException {
+    public IllegalMoveException(String message) { super(message); }
+}
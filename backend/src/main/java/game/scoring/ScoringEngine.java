@@ -0,0 +1,87 @@
+package game.scoring;
+
+import game.model.TileGrid;
+import game.model.TileType;
+
+/**
+ * Bitboard scoring of animal placements on an 8x8 board.
+ * Bit i of a board mask stands for tile i, tiles being stored row by row.
+ * The square neighborhood of every tile is precomputed per radius, so the
+ * score of a placement is a handful of AND and bit count operations.
+ */
+public final class ScoringEngine {
+
+    public static final int SIZE = 8;
+    public static final int TILE_COUNT = SIZE * SIZE;
+    public static final int MAX_RADIUS = 2;
+
+    // Animal.values() clones its array on every call
+    private static final Animal[] ANIMALS = Animal.values();
+
+    // NEIGHBORHOODS[radius][tile] = tiles within the radius, the tile itself excluded
+    private static final long[][] NEIGHBORHOODS = new long[MAX_RADIUS + 1][TILE_COUNT];
+
+    static {
+        for (int radius = 0; radius <= MAX_RADIUS; radius++) {
+            for (int tile = 0; tile < TILE_COUNT; tile++) {
+                NEIGHBORHOODS[radius][tile] = computeNeighborhood(tile, radius);
+            }
+        }
+    }
+
+    private ScoringEngine() {}
+
+    public static long neighborhood(int tile, int radius) {
+        return NEIGHBORHOODS[radius][tile];
+    }
+
+    /**
+     * Points given by the animal when placed on the tile, as computed by the frontend.
+     *
+     * @param tileMasks   one mask per tile type, indexed by TileType ordinal
+     * @param animalMasks one mask per animal, indexed by Animal ordinal
+     */
+    public static int placementScore(long[] tileMasks, long[] animalMasks, Animal animal, int tile) {
+        long area = NEIGHBORHOODS[animal.radius()][tile];
+        long free = ~(animalMasks[0] | animalMasks[1] | animalMasks[2]);
+        int score = animal.points();
+        for (int type = 0; type < TileType.COUNT; type++) {
+            int weight = animal.tileWeight(type);
+            if (weight != 0) {
+                score += weight * Long.bitCount(area & free & tileMasks[type]);
+            }
+        }
+        for (Animal other : ANIMALS) {
+            int weight = animal.animalWeight(other);
+            if (weight != 0) {
+                score += weight * Long.bitCount(area & animalMasks[other.ordinal()]);
+            }
+        }
+        return Math.max(score, 0);
+    }
+
+    public static long[] tileMasks(TileGrid grid) {
+        if (grid.size() != TILE_COUNT) {
+            throw new IllegalArgumentException("Scoring needs a map of " + TILE_COUNT + " tiles");
+        }
+        long[] masks = new long[TileType.COUNT];
+        for (int tile = 0; tile < TILE_COUNT; tile++) {
+            masks[grid.get(tile)] |= 1L << tile;
+        }
+        return masks;
+    }
+
+    private static long computeNeighborhood(int tile, int radius) {
+        int x = tile % SIZE;
+        int y = tile / SIZE;
+        long mask = 0;
+        for (int ny = Math.max(y - radius, 0); ny <= Math.min(y + radius, SIZE - 1); ny++) {
+            for (int nx = Math.max(x - radius, 0); nx <= Math.min(x + radius, SIZE - 1); nx++) {
+                if (nx != x || ny != y) {
+                    mask |= 1L << (ny * SIZE + nx);
+                }
+            }
+        }
+        return mask;
+    }
+}
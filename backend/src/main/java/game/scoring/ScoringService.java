@@ -0,0 +1,60 @@
+package game.scoring;
+
+import game.dto.MapDto;
+import game.dto.MoveDto;
+import game.dto.ScoreRequestDto;
+import game.dto.ScoreResultDto;
+import game.exception.BadRequestException;
+import game.restservice.MapService;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ScoringService {
+
+    private final MapService mapService;
+
+    public ScoringService(MapService mapService) {
+        this.mapService = mapService;
+    }
+
+    // Replays the moves on the stored map and returns the score the game should have
+    public ScoreResultDto score(ScoreRequestDto request) {
+        if (request.mapName() == null || request.moves() == null) {
+            throw new BadRequestException("A map name and a list of moves are required");
+        }
+        MapDto map = mapService.getMapByName(request.mapName());
+        GameState state = new GameState(tileMasks(map));
+
+        List<MoveDto> moves = request.moves();
+        int[] moveScores = new int[moves.size()];
+        for (int i = 0; i < moveScores.length; i++) {
+            MoveDto move = moves.get(i);
+            try {
+                moveScores[i] = state.place(move.animal(), toTile(move));
+            } catch (IllegalMoveException exception) {
+                throw new IllegalMoveException("Move " + (i + 1) + ": " + exception.getMessage());
+            }
+        }
+        return new ScoreResultDto(map.getName(), state.getScore(), state.getTurn(),
+                state.getScoreLimit(), state.isGameOver(), moveScores);
+    }
+
+    public static long[] tileMasks(MapDto map) {
+        if (map.getGrid() == null || map.getWidth() != ScoringEngine.SIZE || map.getHeight() != ScoringEngine.SIZE) {
+            throw new BadRequestException("Only " + ScoringEngine.SIZE + "x" + ScoringEngine.SIZE + " maps can be played");
+        }
+        return ScoringEngine.tileMasks(map.getGrid());
+    }
+
+    public static int toTile(MoveDto move) {
+        if (move.animal() == null) {
+            throw new IllegalMoveException("The animal is required");
+        }
+        if (move.x() < 0 || move.x() >= ScoringEngine.SIZE || move.y() < 0 || move.y() >= ScoringEngine.SIZE) {
+            throw new IllegalMoveException("(" + move.x() + ", " + move.y() + ") is outside of the map");
+        }
+        return move.y() * ScoringEngine.SIZE + move.x();
+    }
+}
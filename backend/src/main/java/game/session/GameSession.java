@@ -0,0 +1,164 @@
+package game.session;
+
+import game.dto.MoveDto;
+import game.dto.SessionDto;
+import game.exception.BadRequestException;
+import game.exception.ConflictException;
+import game.scoring.Animal;
+import game.scoring.GameState;
+import game.scoring.IllegalMoveException;
+import game.scoring.ScoringEngine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A game played on the server, with the undo and redo of the frontend
+ * commands. Placing an animal clears the moves that could be redone.
+ * The methods changing the game are synchronized, a session being shared
+ * by the requests of its player, and write the move to the {@link MoveLog}
+ * in the same order as it is played.
+ */
+public class GameSession {
+
+    private final UUID id;
+    private final String mapName;
+    private final GameState state;
+    // Null for a replayed game
+    private final MoveLog log;
+    private final Deque<GameState.Placement> done = new ArrayDeque<>();
+    private final Deque<GameState.Placement> undone = new ArrayDeque<>();
+    private volatile long lastAccess;
+    // Set once the score of the game is submitted, the game can no longer change
+    private boolean ended;
+
+    GameSession(UUID id, String mapName, long[] tileMasks, long now, MoveLog log) {
+        this.id = id;
+        this.mapName = mapName;
+        this.state = new GameState(tileMasks);
+        this.lastAccess = now;
+        this.log = log;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    public synchronized SessionDto place(Animal animal, int tile) {
+        checkNotEnded();
+        doPlace(animal, tile);
+        log(MoveLog.Type.PLACE, animal, tile);
+        return toDto();
+    }
+
+    public synchronized SessionDto undo() {
+        checkNotEnded();
+        doUndo();
+        log(MoveLog.Type.UNDO, null, 0);
+        return toDto();
+    }
+
+    public synchronized SessionDto redo() {
+        checkNotEnded();
+        doRedo();
+        log(MoveLog.Type.REDO, null, 0);
+        return toDto();
+    }
+
+    /**
+     * Ends a game that is over, for the submission of its score.
+     *
+     * @throws BadRequestException if the game is not over
+     * @throws ConflictException if the game already ended
+     */
+    synchronized SessionDto end() {
+        if (ended) {
+            throw new ConflictException("The score of session " + id + " was already submitted");
+        }
+        if (!state.isGameOver()) {
+            throw new BadRequestException("The game of session " + id + " is not over");
+        }
+        ended = true;
+        return toDto();
+    }
+
+    private void checkNotEnded() {
+        if (ended) {
+            throw new IllegalMoveException("The game has ended");
+        }
+    }
+
+    // Plays a move read from the log, without logging it again
+    synchronized void replay(MoveLog.Move move) {
+        switch (move.type()) {
+            case PLACE -> doPlace(move.animal(), move.tile());
+            case UNDO -> doUndo();
+            case REDO -> doRedo();
+            default -> throw new IllegalArgumentException("Not a move: " + move.type());
+        }
+    }
+
+    private void doPlace(Animal animal, int tile) {
+        done.push(state.apply(animal, tile));
+        undone.clear();
+    }
+
+    private void doUndo() {
+        if (done.isEmpty()) {
+            throw new IllegalMoveException("No move to undo");
+        }
+        GameState.Placement placement = done.pop();
+        state.undo(placement);
+        undone.push(placement);
+    }
+
+    private void doRedo() {
+        if (undone.isEmpty()) {
+            throw new IllegalMoveException("No move to redo");
+        }
+        GameState.Placement placement = undone.pop();
+        done.push(state.apply(placement.animal(), placement.tile()));
+    }
+
+    private void log(MoveLog.Type type, Animal animal, int tile) {
+        if (log != null) {
+            log.append(type, id, animal, tile);
+        }
+    }
+
+    public synchronized SessionDto toDto() {
+        Map<Animal, Integer> inventory = new EnumMap<>(Animal.class);
+        for (Animal animal : Animal.values()) {
+            inventory.put(animal, state.inventory(animal));
+        }
+        List<MoveDto> moves = new ArrayList<>(done.size());
+        int[] moveScores = new int[done.size()];
+        int i = 0;
+        // The deque iterates from the last move
+        for (var iterator = done.descendingIterator(); iterator.hasNext(); i++) {
+            GameState.Placement placement = iterator.next();
+            moves.add(new MoveDto(placement.animal(),
+                    placement.tile() % ScoringEngine.SIZE, placement.tile() / ScoringEngine.SIZE));
+            moveScores[i] = placement.points();
+        }
+        return new SessionDto(id.toString(), mapName, state.getScore(), state.getTurn(), state.getScoreLimit(),
+                state.isGameOver(), inventory, moves, moveScores, !done.isEmpty(), !undone.isEmpty());
+    }
+}
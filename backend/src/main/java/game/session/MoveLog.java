@@ -0,0 +1,444 @@
+package game.session;
+
+import game.model.TileType;
+import game.scoring.Animal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of the moves of the game sessions, so that a game can be
+ * replayed and the sessions recovered after a restart.
+ *
+ * The log is a sequence of segment files of fixed-size records, each segment
+ * being memory-mapped: an append is a copy to the page cache, written to disk
+ * by the OS or at the next sync. A record is
+ * <pre>
+ * crc32c u32 | type u8 | animal u8 | tile u8 | unused u8 | time i64 | session u128 | payload 32 bytes
+ * </pre>
+ * the checksum covering the rest of the record. The log ends at the first
+ * record of a segment with a wrong checksum, which is how the unwritten end
+ * of a segment or a record torn by a crash is found. A session starts with a
+ * START record holding the tiles of its map, followed by NAME records when
+ * the name of the map does not fit in the START record, so that a game can
+ * be replayed without the map, even once it has changed. The oldest segments
+ * are deleted past the maximum number of segments. The segment holding the
+ * START record of each live session is remembered, so that reading a session
+ * skips the segments written before it. The sessions that ended are only
+ * kept in a Bloom filter of each segment, of a fixed size, so that reading
+ * an ended session skips the segments where it cannot have started and
+ * reading a session that is not in the log scans nothing.
+ */
+@Component
+public class MoveLog {
+
+    public static final int RECORD_SIZE = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(MoveLog.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("moves-(\\d{10})\\.log");
+    private static final int HEADER_SIZE = 32;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - HEADER_SIZE;
+    // Tile masks and name length before the start of the name
+    private static final int START_NAME_OFFSET = 2 * Long.BYTES + Short.BYTES;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+    private static final int NO_ANIMAL = 0xFF;
+    private static final Animal[] ANIMALS = Animal.values();
+    // Bits of the filter of a segment for each of its records, and bits set for each session
+    private static final int FILTER_BITS_PER_RECORD = 2;
+    private static final int FILTER_HASHES = 3;
+
+    public enum Type {
+        START, NAME, PLACE, UNDO, REDO, END;
+
+        private static final Type[] VALUES = values();
+
+        int code() {
+            return ordinal() + 1;
+        }
+
+        static Type of(int code) {
+            return code >= 1 && code <= VALUES.length ? VALUES[code - 1] : null;
+        }
+    }
+
+    /**
+     * A move of a session, the animal and the tile are only set for a PLACE.
+     */
+    public record Move(Type type, long time, Animal animal, int tile) {
+    }
+
+    /**
+     * The records of a session, in the order they were appended.
+     */
+    public record SessionLog(UUID id, String mapName, long[] tileMasks, long startTime, List<Move> moves,
+                             boolean ended) {
+    }
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final int maxSegments;
+    // The last one is the active segment, read from its buffer
+    private final Deque<Path> segments = new ArrayDeque<>();
+    // Segment of the START record of the live sessions
+    private final Map<UUID, Path> startSegments = new HashMap<>();
+    // Filter of the sessions started in each segment, ended ones included
+    private final Map<Path, BitSet> startFilters = new HashMap<>();
+    private final int filterBits;
+    private final ScheduledExecutorService syncer;
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean dirty;
+    // Whether the start of the sessions of the segments found when opening the log is known
+    private boolean indexed;
+
+    @Autowired
+    public MoveLog(@Value("${game.movelog.directory:data/moves}") Path directory,
+                   @Value("${game.movelog.segment-size:64MB}") DataSize segmentSize,
+                   @Value("${game.movelog.max-segments:16}") int maxSegments,
+                   @Value("${game.movelog.sync-interval:1s}") Duration syncInterval) throws IOException {
+        this(directory, segmentSize.toBytes(), maxSegments);
+        syncer.scheduleWithFixedDelay(this::sync, syncInterval.toMillis(), syncInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    MoveLog(Path directory, long segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = (int) Math.min(segmentSize / RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE);
+        this.maxSegments = maxSegments;
+        this.filterBits = Math.max(segmentRecords * FILTER_BITS_PER_RECORD, Long.SIZE);
+        this.syncer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("move-log-sync-"));
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .forEach(segments::add);
+        }
+        if (segments.isEmpty()) {
+            openSegment(directory.resolve(segmentName(0)));
+        } else {
+            openSegment(segments.removeLast());
+            buffer.position(validLength(buffer));
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        syncer.shutdownNow();
+        buffer.force();
+        channel.close();
+    }
+
+    public synchronized void start(UUID session, String mapName, long[] tileMasks) {
+        byte[] name = mapName.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("The map name is longer than " + MAX_NAME_LENGTH + " bytes");
+        }
+        int overflow = Math.max(name.length - (PAYLOAD_SIZE - START_NAME_OFFSET), 0);
+        reserve(1 + (overflow + PAYLOAD_SIZE - 1) / PAYLOAD_SIZE);
+        long time = System.currentTimeMillis();
+        startSegments.put(session, segments.getLast());
+        addStart(segments.getLast(), session);
+
+        header(Type.START, session, time, NO_ANIMAL, 0);
+        record.putLong(tileMasks[TileType.TREE.ordinal()]);
+        record.putLong(tileMasks[TileType.WATER.ordinal()]);
+        record.putShort((short) name.length);
+        int written = Math.min(name.length, PAYLOAD_SIZE - START_NAME_OFFSET);
+        record.put(name, 0, written);
+        write();
+        while (written < name.length) {
+            header(Type.NAME, session, time, NO_ANIMAL, 0);
+            int length = Math.min(name.length - written, PAYLOAD_SIZE);
+            record.put(name, written, length);
+            written += length;
+            write();
+        }
+    }
+
+    public synchronized void append(Type type, UUID session, Animal animal, int tile) {
+        reserve(1);
+        header(type, session, System.currentTimeMillis(), animal == null ? NO_ANIMAL : animal.ordinal(), tile);
+        write();
+        if (type == Type.END) {
+            startSegments.remove(session);
+        }
+    }
+
+    /**
+     * Forces the appended records to disk.
+     */
+    public synchronized void sync() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    /**
+     * Reads the whole log, the sessions being in the order they started.
+     * The sessions started in deleted segments are left out. The start of
+     * each session is remembered for the reads of a single session.
+     */
+    public Map<UUID, SessionLog> readAll() {
+        Map<UUID, SessionBuilder> sessions = new LinkedHashMap<>();
+        scan(null, sessions);
+        Map<UUID, SessionLog> logs = new LinkedHashMap<>();
+        sessions.forEach((id, session) -> logs.put(id, session.build()));
+        synchronized (this) {
+            sessions.forEach((id, session) -> {
+                if (segments.contains(session.segment)) {
+                    addStart(session.segment, id);
+                    if (!session.ended) {
+                        startSegments.putIfAbsent(id, session.segment);
+                    }
+                }
+            });
+            indexed = true;
+        }
+        return logs;
+    }
+
+    /**
+     * Reads the records of a session, null if the session is not in the log.
+     * The first read reads the whole log if it was not read yet.
+     */
+    public SessionLog read(UUID session) {
+        boolean read;
+        synchronized (this) {
+            read = indexed;
+        }
+        if (!read) {
+            readAll();
+        }
+        Map<UUID, SessionBuilder> sessions = new LinkedHashMap<>();
+        if (!scan(session, sessions)) {
+            return null;
+        }
+        SessionBuilder builder = sessions.get(session);
+        return builder == null ? null : builder.build();
+    }
+
+    // Scans the segments that may hold the session, or all of them, false if none may
+    private boolean scan(UUID only, Map<UUID, SessionBuilder> sessions) {
+        List<Path> files;
+        Path activeFile;
+        ByteBuffer active;
+        synchronized (this) {
+            files = new ArrayList<>(segments);
+            activeFile = files.remove(files.size() - 1);
+            if (only != null) {
+                Path start = startSegments.get(only);
+                if (start == null) {
+                    start = segments.stream().filter(segment -> mayStart(segment, only)).findFirst().orElse(null);
+                    if (start == null) return false;
+                }
+                int first = start.equals(activeFile) ? files.size() : files.indexOf(start);
+                files = files.subList(Math.max(first, 0), files.size());
+            }
+            active = buffer.duplicate().flip();
+        }
+        for (Path file : files) {
+            try (FileChannel segment = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer content = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+                content.limit(validLength(content));
+                scan(file, content, only, sessions);
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Could not read the move log segment " + file, exception);
+            }
+        }
+        scan(activeFile, active, only, sessions);
+        return true;
+    }
+
+    private void addStart(Path segment, UUID session) {
+        BitSet filter = startFilters.computeIfAbsent(segment, file -> new BitSet(filterBits));
+        for (int i = 0; i < FILTER_HASHES; i++) {
+            filter.set(filterBit(session, i));
+        }
+    }
+
+    private boolean mayStart(Path segment, UUID session) {
+        BitSet filter = startFilters.get(segment);
+        if (filter == null) return false;
+        for (int i = 0; i < FILTER_HASHES; i++) {
+            if (!filter.get(filterBit(session, i))) return false;
+        }
+        return true;
+    }
+
+    private int filterBit(UUID session, int hash) {
+        long bits = (session.getMostSignificantBits() + hash * session.getLeastSignificantBits())
+                * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(bits ^ (bits >>> 32), (long) filterBits);
+    }
+
+    private void scan(Path file, ByteBuffer content, UUID only, Map<UUID, SessionBuilder> sessions) {
+        while (content.remaining() >= RECORD_SIZE) {
+            ByteBuffer data = content.slice(content.position(), RECORD_SIZE);
+            content.position(content.position() + RECORD_SIZE);
+            data.getInt();
+            Type type = Type.of(data.get() & 0xFF);
+            int animal = data.get() & 0xFF;
+            int tile = data.get() & 0xFF;
+            data.get();
+            long time = data.getLong();
+            UUID id = new UUID(data.getLong(), data.getLong());
+            if (only != null && !only.equals(id)) continue;
+
+            if (type == Type.START) {
+                sessions.put(id, new SessionBuilder(id, file, time, data));
+                continue;
+            }
+            SessionBuilder session = sessions.get(id);
+            if (session == null) continue;
+            switch (type) {
+                case NAME -> session.appendName(data);
+                case END -> session.ended = true;
+                default -> session.moves.add(new Move(type, time,
+                        animal == NO_ANIMAL ? null : ANIMALS[animal], tile));
+            }
+        }
+    }
+
+    // Length of the valid records at the start of the segment
+    private int validLength(ByteBuffer content) {
+        CRC32C checksum = new CRC32C();
+        int length = 0;
+        while (length + RECORD_SIZE <= content.limit()) {
+            int stored = content.getInt(length);
+            checksum.reset();
+            checksum.update(content.slice(length + Integer.BYTES, RECORD_SIZE - Integer.BYTES));
+            if ((int) checksum.getValue() != stored || Type.of(content.get(length + Integer.BYTES) & 0xFF) == null) {
+                break;
+            }
+            length += RECORD_SIZE;
+        }
+        return length;
+    }
+
+    private void header(Type type, UUID session, long time, int animal, int tile) {
+        record.clear();
+        record.putInt(0);
+        record.put((byte) type.code());
+        record.put((byte) animal);
+        record.put((byte) tile);
+        record.put((byte) 0);
+        record.putLong(time);
+        record.putLong(session.getMostSignificantBits());
+        record.putLong(session.getLeastSignificantBits());
+    }
+
+    private void write() {
+        while (record.hasRemaining()) {
+            record.put((byte) 0);
+        }
+        crc.reset();
+        crc.update(record.array(), Integer.BYTES, RECORD_SIZE - Integer.BYTES);
+        record.putInt(0, (int) crc.getValue());
+        buffer.put(record.array());
+        dirty = true;
+    }
+
+    // Rolls to a new segment if the records do not fit in the current one
+    private void reserve(int records) {
+        if (buffer.remaining() >= records * RECORD_SIZE) return;
+        try {
+            buffer.force();
+            channel.close();
+            String current = segments.getLast().getFileName().toString();
+            Matcher matcher = SEGMENT_NAME.matcher(current);
+            long next = matcher.matches() ? Long.parseLong(matcher.group(1)) + 1 : 0;
+            openSegment(directory.resolve(segmentName(next)));
+            while (segments.size() > maxSegments) {
+                Path oldest = segments.removeFirst();
+                Files.deleteIfExists(oldest);
+                startSegments.values().removeIf(oldest::equals);
+                startFilters.remove(oldest);
+                logger.info("Deleted the move log segment {}", oldest.getFileName());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not roll the move log", exception);
+        }
+    }
+
+    private void openSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        segments.addLast(file);
+        dirty = false;
+    }
+
+    private static String segmentName(long number) {
+        return String.format("moves-%010d.log", number);
+    }
+
+    private static final class SessionBuilder {
+        private final UUID id;
+        private final Path segment;
+        private final long startTime;
+        private final long[] tileMasks = new long[TileType.COUNT];
+        private final byte[] name;
+        private int nameLength;
+        private final List<Move> moves = new ArrayList<>();
+        private boolean ended;
+
+        private SessionBuilder(UUID id, Path segment, long startTime, ByteBuffer payload) {
+            this.id = id;
+            this.segment = segment;
+            this.startTime = startTime;
+            long tree = payload.getLong();
+            long water = payload.getLong();
+            tileMasks[TileType.TREE.ordinal()] = tree;
+            tileMasks[TileType.WATER.ordinal()] = water;
+            tileMasks[TileType.PLAIN.ordinal()] = ~(tree | water);
+            name = new byte[payload.getShort() & 0xFFFF];
+            appendName(payload);
+        }
+
+        private void appendName(ByteBuffer payload) {
+            int length = Math.min(name.length - nameLength, payload.remaining());
+            payload.get(name, nameLength, length);
+            nameLength += length;
+        }
+
+        private SessionLog build() {
+            return new SessionLog(id, new String(name, 0, nameLength, StandardCharsets.UTF_8), tileMasks,
+                    startTime, moves, ended);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package game.session;
+
+import game.dto.MapDto;
+import game.dto.MoveDto;
+import game.dto.SessionDto;
+import game.exception.BadRequestException;
+import game.exception.ConflictException;
+import game.exception.NotFoundException;
+import game.metrics.MetricsRegistry;
+import game.restservice.MapService;
+import game.scoring.ScoringService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Game sessions, held in memory. A session not used for the idle timeout is
+ * evicted by a background task, and no session is created past the maximum.
+ * The moves are written to the {@link MoveLog}, from which the sessions not
+ * ended are recovered at startup, and any game of the log can be replayed.
+ */
+@Service
+public class SessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
+
+    private final MapService mapService;
+    private final MoveLog log;
+    private final long idleTimeoutNanos;
+    private final int maxSessions;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<UUID, GameSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    @Autowired
+    public SessionService(MapService mapService, MoveLog log, MetricsRegistry metrics,
+                          @Value("${game.sessions.idle-timeout:30m}") Duration idleTimeout,
+                          @Value("${game.sessions.eviction-interval:1m}") Duration evictionInterval,
+                          @Value("${game.sessions.max-sessions:100000}") int maxSessions) {
+        this(mapService, log, idleTimeout, maxSessions, System::nanoTime);
+        recover();
+        metrics.gauge("game.sessions.active", sessions::size);
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionInterval.toMillis(),
+                evictionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    SessionService(MapService mapService, MoveLog log, Duration idleTimeout, int maxSessions, LongSupplier clock) {
+        this.mapService = mapService;
+        this.log = log;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("session-evictor-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictor.shutdownNow();
+    }
+
+    public SessionDto create(String mapName) {
+        if (mapName == null) {
+            throw new BadRequestException("A map name is required");
+        }
+        if (sessions.size() >= maxSessions) {
+            throw new TooManySessionsException("Too many game sessions, try again later");
+        }
+        MapDto map = mapService.getMapByName(mapName);
+        long[] tileMasks = ScoringService.tileMasks(map);
+        UUID id = UUID.randomUUID();
+        log.start(id, map.getName(), tileMasks);
+        GameSession session = new GameSession(id, map.getName(), tileMasks, clock.getAsLong(), log);
+        sessions.put(id, session);
+        return session.toDto();
+    }
+
+    public SessionDto get(String id) {
+        return find(id).toDto();
+    }
+
+    public SessionDto place(String id, MoveDto move) {
+        if (move == null) {
+            throw new BadRequestException("A move is required");
+        }
+        return find(id).place(move.animal(), ScoringService.toTile(move));
+    }
+
+    public SessionDto undo(String id) {
+        return find(id).undo();
+    }
+
+    public SessionDto redo(String id) {
+        return find(id).redo();
+    }
+
+    /**
+     * Ends a game that is over so that its score is submitted once: the
+     * session is removed and its END record written.
+     *
+     * @return the final state of the game
+     * @throws BadRequestException if the game is not over
+     * @throws ConflictException if the game already ended
+     */
+    public SessionDto finish(String id) {
+        GameSession session = find(id);
+        SessionDto result = session.end();
+        sessions.remove(session.getId(), session);
+        log.append(MoveLog.Type.END, session.getId(), null, 0);
+        return result;
+    }
+
+    public void delete(String id) {
+        GameSession session = sessions.remove(parseId(id));
+        if (session == null) {
+            throw new NotFoundException("Session not found: " + id);
+        }
+        log.append(MoveLog.Type.END, session.getId(), null, 0);
+    }
+
+    /**
+     * Replays a game of the log, live or ended.
+     *
+     * @param moves number of moves to replay, all of them if null
+     */
+    public SessionDto replay(String id, Integer moves) {
+        MoveLog.SessionLog sessionLog = log.read(parseId(id));
+        if (sessionLog == null) {
+            throw new NotFoundException("Session not found in the move log: " + id);
+        }
+        int count = moves == null ? sessionLog.moves().size() : moves;
+        if (count < 0 || count > sessionLog.moves().size()) {
+            throw new BadRequestException("The session has " + sessionLog.moves().size() + " moves");
+        }
+        GameSession game = new GameSession(sessionLog.id(), sessionLog.mapName(), sessionLog.tileMasks(), 0, null);
+        for (MoveLog.Move move : sessionLog.moves().subList(0, count)) {
+            game.replay(move);
+        }
+        return game.toDto();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    void evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Iterator<GameSession> iterator = sessions.values().iterator(); iterator.hasNext(); ) {
+            GameSession session = iterator.next();
+            if (now - session.getLastAccess() > idleTimeoutNanos) {
+                iterator.remove();
+                log.append(MoveLog.Type.END, session.getId(), null, 0);
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.info("Evicted {} idle game sessions", evicted);
+        }
+    }
+
+    // Replays the sessions of the log that were not ended
+    void recover() {
+        int recovered = 0;
+        long now = clock.getAsLong();
+        for (MoveLog.SessionLog sessionLog : log.readAll().values()) {
+            if (sessionLog.ended()) continue;
+            GameSession session = new GameSession(sessionLog.id(), sessionLog.mapName(), sessionLog.tileMasks(),
+                    now, log);
+            try {
+                for (MoveLog.Move move : sessionLog.moves()) {
+                    session.replay(move);
+                }
+            } catch (RuntimeException exception) {
+                logger.warn("Could not recover the game session {}", sessionLog.id(), exception);
+                continue;
+            }
+            sessions.put(session.getId(), session);
+            recovered++;
+        }
+        if (recovered > 0) {
+            logger.info("Recovered {} game sessions from the move log", recovered);
+        }
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException exception) {
+            throw new NotFoundException("Session not found: " + id);
+        }
+    }
+
+    private GameSession find(String id) {
+        GameSession session = sessions.get(parseId(id));
+        if (session == null) {
+            throw new NotFoundException("Session not found: " + id);
+        }
+        session.touch(clock.getAsLong());
+        return session;
+    }
+}
@@ -0,0 +1,5 @@
+package game.session;
+
+public class TooManySessionsException extends RuntimeException {
+    public TooManySessionsException(String message) { super(message); }
+}
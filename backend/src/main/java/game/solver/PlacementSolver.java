@@ -0,0 +1,324 @@
+package game.solver;
+
+import game.model.Symmetry;
+import game.model.TileType;
+import game.scoring.Animal;
+import game.scoring.ScoringEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static game.scoring.ScoringEngine.TILE_COUNT;
+
+/**
+ * Finds the placement order of a fixed inventory of animals that gives the
+ * best score on a map.
+ *
+ * The search is a depth-first branch-and-bound: a node is cut when its score
+ * plus an optimistic bound of what the remaining animals can still give does
+ * not beat the best placement found so far. Since the score of the remaining
+ * moves only depends on the board, boards already reached with a better or
+ * equal score are cut too, after being reduced to a canonical form under the
+ * symmetries of the map. The first levels of the tree are split in fork/join
+ * tasks, and the search stops at the deadline with the best placement found.
+ *
+ * A solver is meant for a single call to solve.
+ */
+public class PlacementSolver {
+
+    private static final Animal[] ANIMALS = Animal.values();
+    // Levels of the tree that are split in parallel tasks
+    private static final int SPLIT_DEPTH = 2;
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+
+    private final long[] tileMasks;
+    private final int[] inventory;
+    private final int animalCount;
+
+    // Score an animal could at best get on a tile, whatever the board
+    private final int[][] optimistic = new int[Animal.COUNT][TILE_COUNT];
+    // Tiles an animal can live on, by decreasing optimistic score
+    private final int[][] tilesByBound = new int[Animal.COUNT][];
+    // Symmetries leaving the map unchanged, as tile permutations
+    private final int[][] automorphisms;
+
+    private final ConcurrentHashMap<BoardKey, Integer> visited = new ConcurrentHashMap<>();
+    private final int maxVisited;
+    private final long deadline;
+    private volatile boolean timedOut;
+    private final LongAdder nodes = new LongAdder();
+
+    private final AtomicInteger bestScore = new AtomicInteger(-1);
+    private int[] bestMoves = new int[0];
+
+    public PlacementSolver(long[] tileMasks, int[] inventory, int maxVisited, long deadlineNanos) {
+        this.tileMasks = tileMasks;
+        this.inventory = inventory.clone();
+        this.animalCount = Arrays.stream(inventory).sum();
+        this.maxVisited = maxVisited;
+        this.deadline = deadlineNanos;
+        this.automorphisms = findAutomorphisms(tileMasks);
+        computeBounds();
+    }
+
+    public Solution solve(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        searchGreedy();
+        pool.invoke(new SearchTask(new long[Animal.COUNT], inventory.clone(), new int[animalCount], 0, 0));
+        int[] moves;
+        synchronized (this) {
+            moves = bestMoves;
+        }
+        return new Solution(Math.max(bestScore.get(), 0), moves, !timedOut, nodes.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Result of a search. Each move is encoded as animal ordinal * 64 + tile.
+     */
+    public record Solution(int score, int[] moves, boolean complete, long nodes, long elapsedNanos) {
+        public static Animal animal(int move) {
+            return ANIMALS[move / TILE_COUNT];
+        }
+
+        public static int tile(int move) {
+            return move % TILE_COUNT;
+        }
+    }
+
+    private void computeBounds() {
+        for (Animal animal : ANIMALS) {
+            int a = animal.ordinal();
+            long habitat = habitat(animal);
+            List<Integer> tiles = new ArrayList<>();
+            for (int tile = 0; tile < TILE_COUNT; tile++) {
+                if ((habitat & (1L << tile)) == 0) continue;
+                optimistic[a][tile] = optimisticScore(animal, tile);
+                tiles.add(tile);
+            }
+            tilesByBound[a] = tiles.stream()
+                    .sorted((t1, t2) -> Integer.compare(optimistic[a][t2], optimistic[a][t1]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    // Every positive contribution at its maximum, the negative ones ignored
+    private int optimisticScore(Animal animal, int tile) {
+        long area = ScoringEngine.neighborhood(tile, animal.radius());
+        int score = animal.points();
+        for (int type = 0; type < TileType.COUNT; type++) {
+            int weight = animal.tileWeight(type);
+            if (weight > 0) {
+                score += weight * Long.bitCount(area & tileMasks[type]);
+            }
+        }
+        for (Animal other : ANIMALS) {
+            int weight = animal.animalWeight(other);
+            if (weight > 0) {
+                int reachable = Long.bitCount(area & habitat(other));
+                score += weight * Math.min(reachable, inventory[other.ordinal()]);
+            }
+        }
+        return Math.max(score, 0);
+    }
+
+    private long habitat(Animal animal) {
+        long habitat = 0;
+        for (int type = 0; type < TileType.COUNT; type++) {
+            if (animal.canLiveOn(type)) {
+                habitat |= tileMasks[type];
+            }
+        }
+        return habitat;
+    }
+
+    // Seeds the best score with a greedy placement so that the bound cuts early
+    private void searchGreedy() {
+        long[] masks = new long[Animal.COUNT];
+        int[] remaining = inventory.clone();
+        int[] path = new int[animalCount];
+        int score = 0;
+        for (int depth = 0; depth < animalCount; depth++) {
+            long occupied = masks[0] | masks[1] | masks[2];
+            int bestMove = -1;
+            int bestGain = -1;
+            for (Animal animal : ANIMALS) {
+                if (remaining[animal.ordinal()] == 0) continue;
+                for (int tile : tilesByBound[animal.ordinal()]) {
+                    if ((occupied & (1L << tile)) != 0) continue;
+                    int gain = ScoringEngine.placementScore(tileMasks, masks, animal, tile);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestMove = animal.ordinal() * TILE_COUNT + tile;
+                    }
+                }
+            }
+            if (bestMove < 0) break;
+            masks[bestMove / TILE_COUNT] |= 1L << (bestMove % TILE_COUNT);
+            remaining[bestMove / TILE_COUNT]--;
+            path[depth] = bestMove;
+            score += bestGain;
+            offer(score, path, depth + 1);
+        }
+    }
+
+    private int bound(int[] remaining, long occupied) {
+        int bound = 0;
+        for (int animal = 0; animal < Animal.COUNT; animal++) {
+            int left = remaining[animal];
+            for (int tile : tilesByBound[animal]) {
+                if (left == 0 || optimistic[animal][tile] == 0) break;
+                if ((occupied & (1L << tile)) == 0) {
+                    bound += optimistic[animal][tile];
+                    left--;
+                }
+            }
+        }
+        return bound;
+    }
+
+    private void offer(int score, int[] path, int depth) {
+        if (score <= bestScore.get()) return;
+        synchronized (this) {
+            if (score > bestScore.get()) {
+                bestMoves = Arrays.copyOf(path, depth);
+                bestScore.set(score);
+            }
+        }
+    }
+
+    // False if the board was already reached with a score at least as good
+    private boolean markVisited(long[] masks, int score) {
+        BoardKey key = canonicalKey(masks);
+        Integer previous = visited.get(key);
+        if (previous != null && previous >= score) return false;
+        if (previous != null || visited.size() < maxVisited) {
+            visited.merge(key, score, Math::max);
+        }
+        return true;
+    }
+
+    private BoardKey canonicalKey(long[] masks) {
+        long bears = masks[0];
+        long fish = masks[1];
+        long foxes = masks[2];
+        for (int[] permutation : automorphisms) {
+            long b = Symmetry.transformMask(masks[0], permutation);
+            long fi = Symmetry.transformMask(masks[1], permutation);
+            long fo = Symmetry.transformMask(masks[2], permutation);
+            if (b < bears || (b == bears && (fi < fish || (fi == fish && fo < foxes)))) {
+                bears = b;
+                fish = fi;
+                foxes = fo;
+            }
+        }
+        return new BoardKey(bears, fish, foxes);
+    }
+
+    private static int[][] findAutomorphisms(long[] tileMasks) {
+        List<int[]> automorphisms = new ArrayList<>();
+        for (Symmetry symmetry : Symmetry.values()) {
+            if (symmetry == Symmetry.IDENTITY) continue;
+            int[] permutation = symmetry.permutation(ScoringEngine.SIZE);
+            boolean invariant = true;
+            for (int type = 0; type < TileType.COUNT && invariant; type++) {
+                invariant = Symmetry.transformMask(tileMasks[type], permutation) == tileMasks[type];
+            }
+            if (invariant) {
+                automorphisms.add(permutation);
+            }
+        }
+        return automorphisms.toArray(new int[0][]);
+    }
+
+    private record BoardKey(long bears, long fish, long foxes) {
+    }
+
+    private final class SearchTask extends RecursiveAction {
+        private final long[] masks;
+        private final int[] remaining;
+        private final int[] path;
+        private final int depth;
+        private final int score;
+        private int pendingNodes;
+
+        SearchTask(long[] masks, int[] remaining, int[] path, int depth, int score) {
+            this.masks = masks;
+            this.remaining = remaining;
+            this.path = path;
+            this.depth = depth;
+            this.score = score;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= SPLIT_DEPTH) {
+                search(depth, score);
+                nodes.add(pendingNodes);
+                return;
+            }
+            if (!enter(depth, score)) return;
+
+            long occupied = masks[0] | masks[1] | masks[2];
+            List<SearchTask> subtasks = new ArrayList<>();
+            for (Animal animal : ANIMALS) {
+                int a = animal.ordinal();
+                if (remaining[a] == 0) continue;
+                for (int tile : tilesByBound[a]) {
+                    if ((occupied & (1L << tile)) != 0) continue;
+                    int gain = ScoringEngine.placementScore(tileMasks, masks, animal, tile);
+                    long[] childMasks = masks.clone();
+                    int[] childRemaining = remaining.clone();
+                    int[] childPath = path.clone();
+                    childMasks[a] |= 1L << tile;
+                    childRemaining[a]--;
+                    childPath[depth] = a * TILE_COUNT + tile;
+                    subtasks.add(new SearchTask(childMasks, childRemaining, childPath, depth + 1, score + gain));
+                }
+            }
+            nodes.add(pendingNodes);
+            invokeAll(subtasks);
+        }
+
+        private void search(int depth, int score) {
+            if (!enter(depth, score)) return;
+
+            long occupied = masks[0] | masks[1] | masks[2];
+            for (Animal animal : ANIMALS) {
+                int a = animal.ordinal();
+                if (remaining[a] == 0) continue;
+                for (int tile : tilesByBound[a]) {
+                    long bit = 1L << tile;
+                    if ((occupied & bit) != 0) continue;
+                    int gain = ScoringEngine.placementScore(tileMasks, masks, animal, tile);
+                    masks[a] |= bit;
+                    remaining[a]--;
+                    path[depth] = a * TILE_COUNT + tile;
+                    search(depth + 1, score + gain);
+                    masks[a] &= ~bit;
+                    remaining[a]++;
+                    if (timedOut) return;
+                }
+            }
+        }
+
+        // Records the node and tells whether its children are worth exploring
+        private boolean enter(int depth, int score) {
+            if ((++pendingNodes % DEADLINE_CHECK_INTERVAL == 1) && System.nanoTime() - deadline > 0) {
+                timedOut = true;
+            }
+            if (timedOut) return false;
+            offer(score, path, depth);
+            if (depth == animalCount) return false;
+            long occupied = masks[0] | masks[1] | masks[2];
+            if (score + bound(remaining, occupied) <= bestScore.get()) return false;
+            return markVisited(masks, score);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package game.solver;
+
+public class SolverBusyException extends RuntimeException {
+    public SolverBusyException(String message) { super(message); }
+}
@@ -0,0 +1,117 @@
+package game.solver;
+
+import game.dto.MapDto;
+import game.dto.MoveDto;
+import game.dto.SolveRequestDto;
+import game.dto.SolveResultDto;
+import game.exception.BadRequestException;
+import game.restservice.MapService;
+import game.scoring.Animal;
+import game.scoring.ScoringEngine;
+import game.scoring.ScoringService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the placement solver on a shared fork/join pool. Each solve keeps its
+ * visited boards in memory, about 100 bytes each, so the number of boards
+ * per solve and the number of solves running at once are both bounded, the
+ * solves past the limit being rejected rather than queued.
+ */
+@Service
+public class SolverService {
+
+    private final MapService mapService;
+    private final ForkJoinPool pool;
+    private final int maxAnimals;
+    private final int maxVisitedBoards;
+    private final Duration defaultTimeBudget;
+    private final Duration maxTimeBudget;
+    private final Semaphore running;
+
+    public SolverService(MapService mapService,
+                         @Value("${game.solver.parallelism:0}") int parallelism,
+                         @Value("${game.solver.max-animals:24}") int maxAnimals,
+                         @Value("${game.solver.max-visited-boards:250000}") int maxVisitedBoards,
+                         @Value("${game.solver.default-time-budget:2s}") Duration defaultTimeBudget,
+                         @Value("${game.solver.max-time-budget:30s}") Duration maxTimeBudget,
+                         @Value("${game.solver.max-concurrent:2}") int maxConcurrent) {
+        this.mapService = mapService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxAnimals = maxAnimals;
+        this.maxVisitedBoards = maxVisitedBoards;
+        this.defaultTimeBudget = defaultTimeBudget;
+        this.maxTimeBudget = maxTimeBudget;
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @throws SolverBusyException if the maximum number of solves are already running
+     */
+    public SolveResultDto solve(SolveRequestDto request) {
+        validate(request);
+        MapDto map = mapService.getMapByName(request.mapName());
+        if (!running.tryAcquire()) {
+            throw new SolverBusyException("Too many placements being solved, retry later");
+        }
+        try {
+            return solve(request, map);
+        } finally {
+            running.release();
+        }
+    }
+
+    private SolveResultDto solve(SolveRequestDto request, MapDto map) {
+        Duration budget = request.timeBudgetMillis() == null
+                ? defaultTimeBudget
+                : Duration.ofMillis(request.timeBudgetMillis());
+        if (budget.compareTo(maxTimeBudget) > 0) {
+            budget = maxTimeBudget;
+        }
+
+        int[] inventory = new int[Animal.COUNT];
+        inventory[Animal.BEAR.ordinal()] = request.bears();
+        inventory[Animal.FISH.ordinal()] = request.fish();
+        inventory[Animal.FOX.ordinal()] = request.foxes();
+
+        PlacementSolver solver = new PlacementSolver(ScoringService.tileMasks(map), inventory,
+                maxVisitedBoards, System.nanoTime() + budget.toNanos());
+        PlacementSolver.Solution solution = solver.solve(pool);
+
+        List<MoveDto> moves = new ArrayList<>(solution.moves().length);
+        for (int move : solution.moves()) {
+            int tile = PlacementSolver.Solution.tile(move);
+            moves.add(new MoveDto(PlacementSolver.Solution.animal(move),
+                    tile % ScoringEngine.SIZE, tile / ScoringEngine.SIZE));
+        }
+        return new SolveResultDto(map.getName(), solution.score(), moves, solution.complete(),
+                solution.nodes(), Duration.ofNanos(solution.elapsedNanos()).toMillis());
+    }
+
+    private void validate(SolveRequestDto request) {
+        if (request.mapName() == null) {
+            throw new BadRequestException("Map name is required");
+        }
+        if (request.bears() < 0 || request.fish() < 0 || request.foxes() < 0) {
+            throw new BadRequestException("Animal counts must be positive");
+        }
+        if (request.bears() + request.fish() + request.foxes() > maxAnimals) {
+            throw new BadRequestException("At most " + maxAnimals + " animals can be placed");
+        }
+        if (request.timeBudgetMillis() != null && request.timeBudgetMillis() <= 0) {
+            throw new BadRequestException("The time budget must be positive");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package game.cache;
+
+import game.dto.MapDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. get_readThrough
+2. get_negativeLookupCachedUntilTtl
+3. get_evictsLeastRecentlyUsed
+4. invalidate_reloads
+5. getAll_loadsMissesAtOnce
+6. get_coalescesConcurrentMisses
+*/
+
+class MapCacheTest {
+
+    private AtomicLong now;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        now = new AtomicLong();
+        loads = new AtomicInteger();
+        System.out.println("=== Setup MapCacheTest ===");
+    }
+
+    private Optional<MapDto> load(String name) {
+        loads.incrementAndGet();
+        return name.startsWith("missing")
+                ? Optional.empty()
+                : Optional.of(new MapDto(1, name, Collections.nCopies(64, 1)));
+    }
+
+    // ---------------------------------------------------------
+    // 1. get_readThrough
+    // ---------------------------------------------------------
+    @Test
+    void get_readThrough() {
+        MapCache cache = new MapCache(10, Duration.ofSeconds(30), now::get);
+
+        MapDto first = cache.get("map1", this::load).orElseThrow();
+        MapDto second = cache.get("map1", this::load).orElseThrow();
+        CacheStats stats = cache.getStats();
+
+        System.out.println("RETRIEVED: " + stats);
+        System.out.println("EXPECTED : 1 hit, 1 miss");
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    // ---------------------------------------------------------
+    // 2. get_negativeLookupCachedUntilTtl
+    // ---------------------------------------------------------
+    @Test
+    void get_negativeLookupCachedUntilTtl() {
+        MapCache cache = new MapCache(10, Duration.ofSeconds(30), now::get);
+
+        assertTrue(cache.get("missing", this::load).isEmpty());
+        assertTrue(cache.get("missing", this::load).isEmpty());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().negativeHits());
+
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertTrue(cache.get("missing", this::load).isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    // ---------------------------------------------------------
+    // 3. get_evictsLeastRecentlyUsed
+    // ---------------------------------------------------------
+    @Test
+    void get_evictsLeastRecentlyUsed() {
+        MapCache cache = new MapCache(2, Duration.ofSeconds(30), now::get);
+
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        CacheStats stats = cache.getStats();
+
+        System.out.println("RETRIEVED: " + stats);
+        System.out.println("EXPECTED : 'b' evicted then reloaded");
+
+        assertEquals(4, loads.get());
+        assertEquals(2, stats.size());
+        assertEquals(2, stats.evictions());
+    }
+
+    // ---------------------------------------------------------
+    // 4. invalidate_reloads
+    // ---------------------------------------------------------
+    @Test
+    void invalidate_reloads() {
+        MapCache cache = new MapCache(10, Duration.ofSeconds(30), now::get);
+
+        cache.get("missing", this::load);
+        cache.invalidate("missing");
+        cache.get("missing", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    // ---------------------------------------------------------
+    // 5. getAll_loadsMissesAtOnce
+    // ---------------------------------------------------------
+    @Test
+    void getAll_loadsMissesAtOnce() {
+        MapCache cache = new MapCache(10, Duration.ofSeconds(30), now::get);
+        cache.get("map1", this::load);
+        cache.get("missing1", this::load);
+        AtomicInteger batches = new AtomicInteger();
+
+        Map<String, Optional<MapDto>> retrieved = cache.getAll(List.of("map2", "map1", "missing1", "missing2", "map2"),
+                names -> {
+                    batches.incrementAndGet();
+                    assertEquals(List.of("map2", "missing2"), List.copyOf(names));
+                    Map<String, MapDto> found = new HashMap<>();
+                    for (String name : names) {
+                        load(name).ifPresent(map -> found.put(name, map));
+                    }
+                    return found;
+                });
+
+        System.out.println("RETRIEVED: " + retrieved.keySet());
+        System.out.println("EXPECTED : [map2, map1, missing1, missing2] with map2 and missing2 loaded in one batch");
+
+        assertEquals(List.of("map2", "map1", "missing1", "missing2"), List.copyOf(retrieved.keySet()));
+        assertTrue(retrieved.get("map2").isPresent());
+        assertTrue(retrieved.get("missing2").isEmpty());
+        assertEquals(1, batches.get());
+        // Both outcomes of the batch are cached
+        cache.getAll(List.of("map2", "missing2"), names -> fail("Loaded " + names));
+        assertEquals(2, cache.getStats().hits());
+        assertEquals(2, cache.getStats().negativeHits());
+    }
+
+    // ---------------------------------------------------------
+    // 6. get_coalescesConcurrentMisses
+    // ---------------------------------------------------------
+    @Test
+    void get_coalescesConcurrentMisses() throws Exception {
+        // Nothing is cached, the requests still share the load running for the name
+        MapCache cache = new MapCache(0, Duration.ofSeconds(30), now::get);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Optional<MapDto>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.get("missing1", name -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                    return load(name);
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.getStats().coalesced() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<Optional<MapDto>> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS).isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        CacheStats stats = cache.getStats();
+
+        System.out.println("RETRIEVED: " + stats);
+        System.out.println("EXPECTED : 4 misses, 3 of them coalesced into 1 load");
+
+        assertEquals(1, loads.get());
+        assertEquals(4, stats.misses());
+        assertEquals(3, stats.coalesced());
+        cache.get("missing1", this::load);
+        assertEquals(2, loads.get());
+    }
+}
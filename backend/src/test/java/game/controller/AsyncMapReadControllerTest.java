@@ -0,0 +1,128 @@
+package game.controller;
+
+import game.cache.MapCache;
+import game.cache.MapNameIndex;
+import game.model.MapEntity;
+import game.repository.MapBandRepository;
+import game.repository.MapChunkRepository;
+import game.repository.MapRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+Tests List :
+1. getMapByName_async            → read a map off the request thread, then revalidate it with its ETag
+2. getAllMapNames_async          → list the map names off the request thread
+*/
+
+@SpringBootTest(properties = {
+        "game.maps.read-path=async",
+        "game.movelog.directory=target/moves-async"
+})
+@AutoConfigureMockMvc
+class AsyncMapReadControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MapRepository repo;
+
+    @Autowired
+    MapChunkRepository chunkRepo;
+
+    @Autowired
+    MapBandRepository bandRepo;
+
+    @Autowired
+    MapNameIndex nameIndex;
+
+    @Autowired
+    MapCache mapCache;
+
+    @BeforeEach
+    void setup() {
+        repo.deleteAll();
+        chunkRepo.deleteAll();
+        bandRepo.deleteAll();
+        nameIndex.invalidate();
+        mapCache.invalidateAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // 1. getMapByName_async
+    // -------------------------------------------------------------------------
+    @Test
+    void getMapByName_async() throws Exception {
+
+        repo.save(new MapEntity("Async-Map", Collections.nCopies(64, 2)));
+
+        System.out.println("SENDING: GET /api/maps/by-name?name=Async-Map");
+
+        MvcResult started = mockMvc.perform(get("/api/maps/by-name").param("name", "Async-Map"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Async-Map"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept"))
+                .andDo(result -> {
+                    System.out.println("RETRIEVED: " + result.getResponse().getContentAsString());
+                    System.out.println("EXPECTED : Async-Map with its tiles");
+                })
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).isNotBlank();
+
+        MvcResult revalidated = mockMvc.perform(get("/api/maps/by-name").param("name", "Async-Map")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(revalidated))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        MvcResult missing = mockMvc.perform(get("/api/maps/by-name").param("name", "Unknown"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(missing))
+                .andExpect(status().isNotFound());
+    }
+
+    // -------------------------------------------------------------------------
+    // 2. getAllMapNames_async
+    // -------------------------------------------------------------------------
+    @Test
+    void getAllMapNames_async() throws Exception {
+
+        repo.save(new MapEntity("B-Map", Collections.nCopies(64, 0)));
+        repo.save(new MapEntity("A-Map", Collections.nCopies(64, 1)));
+
+        System.out.println("SENDING: GET /api/maps");
+
+        MvcResult started = mockMvc.perform(get("/api/maps"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("A-Map"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andDo(result -> {
+                    System.out.println("RETRIEVED: " + result.getResponse().getContentAsString());
+                    System.out.println("EXPECTED : [\"A-Map\",\"B-Map\"]");
+                });
+    }
+}
@@ -1,20 +1,47 @@
 package game.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import game.cache.MapCache;
+import game.cache.MapNameIndex;
+import game.config.MapSimilarityBackfill;
+import game.config.MapStatsBackfill;
+import game.dto.MapBinaryFormat;
+import game.dto.ImportResultDto;
+import game.dto.MapBatchRequestDto;
 import game.dto.MapDto;
+import game.dto.SeedPackFormat;
 import game.model.MapEntity;
+import game.model.TileGrid;
+import game.repository.MapBandRepository;
+import game.repository.MapChunkRepository;
+import game.leaderboard.LeaderboardService;
 import game.repository.MapRepository;
+import game.restservice.MapImportService;
+import game.restservice.SeedPackService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.not;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,9 +55,32 @@ Tests List :
 5. getMapByName_found            → get an existing map by its name
 6. getMapByName_notFound         → get a non-existing map
 7. getAllMapNames                → get a list with all map names
+8. importMaps_jsonArray          → bulk import a JSON array of maps
+9. importMaps_ndjson             → bulk import an NDJSON stream with duplicate and invalid maps
+10. getMapPage_keyset            → walk the catalog page by page
+11. exportMaps_ndjson            → stream the catalog as NDJSON, without the chunked maps
+12. createMap_idempotencyKey     → retry a creation with the same Idempotency-Key
+13. getMapByName_etag           → revalidate a map with its ETag
+14. getAllMapNames_etag         → revalidate the name list, then again after a creation
+15. createMap_binary            → create a map in the binary format and read it back
+16. importMaps_binary           → bulk import a binary batch, then export it
+17. getMapRegion_chunked        → create a large map and read a viewport of it
+18. getSimilarMaps_rotated      → find a rotated copy with a changed tile, and reject an exact rotated copy
+19. searchMaps_filterAndSort    → filter maps on their composition and sort them
+20. backfillStats               → compute the statistics of a map inserted without them
+21. generateMaps_save           → generate a seeded pack twice, save it, then generate it again
+22. metrics_prometheus          → scrape the request, repository and failure metrics
+23. loadSeedPack_once           → load the default seed pack, skip it once recorded, reject bad packs
+24. session_placeAndUndo        → play a game session on a stored map, undo a move, then end it
+25. leaderboard_submitAndFlush  → submit two finished sessions once each, then flush them
+26. updateMap_versions          → update a map, fetch its first version, the diff, then revert it
+27. getMaps_batch               → fetch several maps by name and id at once, with the missing ones
+28. getMapByName_binaryEtag     → revalidate the JSON and binary forms of a map with their own ETags
+29. importMaps_rolledBack       → import maps in a transaction rolled back, the name index is unchanged
+30. backfillSimilarity          → index a map inserted without bands, then find it as similar
 */
 
-@SpringBootTest
+@SpringBootTest(properties = "game.movelog.directory=target/moves")
 @AutoConfigureMockMvc
 class MapControllerTest {
 
@@ -43,13 +93,69 @@ class MapControllerTest {
     @Autowired
     MapRepository repo;
 
+    @Autowired
+    MapChunkRepository chunkRepo;
+
+    @Autowired
+    MapBandRepository bandRepo;
+
+    @Autowired
+    MapNameIndex nameIndex;
+
+    @Autowired
+    MapStatsBackfill statsBackfill;
+
+    @Autowired
+    MapSimilarityBackfill similarityBackfill;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MapCache mapCache;
+
+    @Autowired
+    SeedPackService seedPackService;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @Autowired
+    MapImportService importService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     private List<Integer> tiles() {
         return Collections.nCopies(64, 1);
     }
 
+    private byte[] toBinary(MapDto... maps) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (MapDto map : maps) {
+            MapBinaryFormat.write(map, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<MapDto> fromBinary(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        List<MapDto> maps = new ArrayList<>();
+        MapDto map;
+        while ((map = MapBinaryFormat.read(in)) != null) {
+            maps.add(map);
+        }
+        return maps;
+    }
+
     @BeforeEach
     void setup() {
         repo.deleteAll();
+        chunkRepo.deleteAll();
+        bandRepo.deleteAll();
+        nameIndex.invalidate();
+        mapCache.invalidateAll();
         System.out.println("=== Starting MapControllerTest ===");
     }
 
@@ -203,10 +309,950 @@ class MapControllerTest {
 
         mockMvc.perform(get("/api/maps"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("A"))
+                .andExpect(jsonPath("$[1]").value("B"))
                 .andDo(result -> {
                     String retrieved = result.getResponse().getContentAsString();
                     System.out.println("RETRIEVED: " + retrieved);
                     System.out.println("EXPECTED : JSON array with ['A','B']");
                 });
     }
+
+    // -------------------------------------------------------------------------
+    // 8. importMaps_jsonArray
+    // -------------------------------------------------------------------------
+    @Test
+    void importMaps_jsonArray() throws Exception {
+
+        String json = mapper.writeValueAsString(List.of(
+                new MapDto(null, "imported1", tiles()),
+                new MapDto(null, "imported2", tiles())));
+
+        System.out.println("SENDING: POST /api/maps/import\nPayload: " + json);
+
+        mockMvc.perform(post("/api/maps/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andDo(result -> {
+                    String retrieved = result.getResponse().getContentAsString();
+                    System.out.println("RETRIEVED: " + retrieved);
+                    System.out.println("EXPECTED : 2 maps created");
+                });
+
+        assertThat(repo.count()).isEqualTo(2);
+        mockMvc.perform(get("/api/maps"))
+                .andExpect(jsonPath("$[1]").value("imported2"));
+    }
+
+    // -------------------------------------------------------------------------
+    // 9. importMaps_ndjson
+    // -------------------------------------------------------------------------
+    @Test
+    void importMaps_ndjson() throws Exception {
+
+        repo.save(new MapEntity("existing", tiles()));
+        String ndjson = String.join("\n",
+                mapper.writeValueAsString(new MapDto(null, "existing", tiles())),
+                mapper.writeValueAsString(new MapDto(null, "fresh", tiles())),
+                mapper.writeValueAsString(new MapDto(null, "fresh", tiles())),
+                mapper.writeValueAsString(new MapDto(null, "badTiles", List.of(1, 2))));
+
+        System.out.println("SENDING: POST /api/maps/import (NDJSON)\nPayload: " + ndjson);
+
+        mockMvc.perform(post("/api/maps/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andDo(result -> {
+                    String retrieved = result.getResponse().getContentAsString();
+                    System.out.println("RETRIEVED: " + retrieved);
+                    System.out.println("EXPECTED : 1 created, 2 duplicates, 1 invalid");
+                });
+
+        assertThat(repo.count()).isEqualTo(2);
+    }
+
+    // -------------------------------------------------------------------------
+    // 10. getMapPage_keyset
+    // -------------------------------------------------------------------------
+    @Test
+    void getMapPage_keyset() throws Exception {
+
+        repo.save(new MapEntity("C", tiles()));
+        repo.save(new MapEntity("A", tiles()));
+        repo.save(new MapEntity("B", tiles()));
+
+        System.out.println("SENDING: GET /api/maps/page?limit=2");
+
+        mockMvc.perform(get("/api/maps/page").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("A"))
+                .andExpect(jsonPath("$.items[1].name").value("B"))
+                .andExpect(jsonPath("$.items[0].tiles").doesNotExist())
+                .andExpect(jsonPath("$.next").value("B"))
+                .andDo(result -> {
+                    String retrieved = result.getResponse().getContentAsString();
+                    System.out.println("RETRIEVED: " + retrieved);
+                    System.out.println("EXPECTED : maps A and B, next cursor 'B'");
+                });
+
+        mockMvc.perform(get("/api/maps/page").param("limit", "2").param("after", "B").param("tiles", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("C"))
+                .andExpect(jsonPath("$.items[0].tiles.length()").value(64))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    // -------------------------------------------------------------------------
+    // 11. exportMaps_ndjson
+    // -------------------------------------------------------------------------
+    @Test
+    void exportMaps_ndjson() throws Exception {
+
+        repo.save(new MapEntity("A", tiles()));
+        repo.save(new MapEntity("B", tiles()));
+        // A chunked map, its tiles are not in its row
+        jdbcTemplate.update("INSERT INTO maps (name, width, height) VALUES ('C', 128, 128)");
+
+        System.out.println("SENDING: GET /api/maps/export");
+
+        MvcResult started = mockMvc.perform(get("/api/maps/export"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Omitted-Maps", "1"))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+
+        System.out.println("RETRIEVED: " + body);
+        System.out.println("EXPECTED : 2 lines, maps A and B, the chunked map C left out");
+
+        assertThat(lines).hasSize(2);
+        assertThat(mapper.readValue(lines[1], MapDto.class).getName()).isEqualTo("B");
+        assertThat(mapper.readValue(lines[1], MapDto.class).getTiles()).isEqualTo(tiles());
+    }
+
+    // -------------------------------------------------------------------------
+    // 12. createMap_idempotencyKey
+    // -------------------------------------------------------------------------
+    @Test
+    void createMap_idempotencyKey() throws Exception {
+
+        String json = mapper.writeValueAsString(new MapDto(null, "retriedMap", tiles()));
+        String key = "key-" + System.nanoTime();
+
+        System.out.println("SENDING: POST /api/maps twice with Idempotency-Key " + key);
+
+        String first = mockMvc.perform(post("/api/maps")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(post("/api/maps")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + second);
+        System.out.println("EXPECTED : " + first);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(repo.count()).isEqualTo(1);
+
+        String other = mapper.writeValueAsString(new MapDto(null, "otherMap", tiles()));
+        mockMvc.perform(post("/api/maps")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(other))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    // -------------------------------------------------------------------------
+    // 13. getMapByName_etag
+    // -------------------------------------------------------------------------
+    @Test
+    void getMapByName_etag() throws Exception {
+
+        repo.save(new MapEntity("cachedMap", tiles()));
+
+        String etag = mockMvc.perform(get("/api/maps/by-name").param("name", "cachedMap"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        System.out.println("SENDING: GET /api/maps/by-name with If-None-Match " + etag);
+
+        mockMvc.perform(get("/api/maps/by-name")
+                        .param("name", "cachedMap")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(result -> {
+                    System.out.println("RETRIEVED: " + result.getResponse().getStatus());
+                    System.out.println("EXPECTED : 304");
+                });
+
+        mockMvc.perform(get("/api/maps/by-name")
+                        .param("name", "cachedMap")
+                        .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    // -------------------------------------------------------------------------
+    // 14. getAllMapNames_etag
+    // -------------------------------------------------------------------------
+    @Test
+    void getAllMapNames_etag() throws Exception {
+
+        repo.save(new MapEntity("A", tiles()));
+
+        String etag = mockMvc.perform(get("/api/maps"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        System.out.println("SENDING: GET /api/maps with If-None-Match " + etag);
+
+        mockMvc.perform(get("/api/maps").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "B", tiles()))))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("ETag"));
+
+        String changed = mockMvc.perform(get("/api/maps").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn().getResponse().getHeader("ETag");
+
+        System.out.println("RETRIEVED: " + changed);
+        System.out.println("EXPECTED : an ETag other than " + etag);
+
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    // -------------------------------------------------------------------------
+    // 15. createMap_binary
+    // -------------------------------------------------------------------------
+    @Test
+    void createMap_binary() throws Exception {
+
+        byte[] body = toBinary(new MapDto(null, "binaryMap", tiles()));
+
+        System.out.println("SENDING: POST /api/maps with a " + body.length + " bytes binary map");
+
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MapBinaryFormat.MEDIA_TYPE)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("binaryMap"));
+
+        byte[] retrieved = mockMvc.perform(get("/api/maps/by-name")
+                        .param("name", "binaryMap")
+                        .accept(MapBinaryFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MapBinaryFormat.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MapDto> maps = fromBinary(retrieved);
+
+        System.out.println("RETRIEVED: " + retrieved.length + " bytes, " + maps);
+        System.out.println("EXPECTED : 36 bytes, binaryMap with 64 forest tiles");
+
+        assertThat(retrieved).hasSize(4 + 2 + 9 + 2 + 2 + 1 + 16);
+        assertThat(maps).hasSize(1);
+        assertThat(maps.get(0).getName()).isEqualTo("binaryMap");
+        assertThat(maps.get(0).getTiles()).isEqualTo(tiles());
+
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MapBinaryFormat.MEDIA_TYPE)
+                        .content(new byte[]{0, 0, 0, 0, 0, 5, 'b'}))
+                .andExpect(status().isBadRequest());
+    }
+
+    // -------------------------------------------------------------------------
+    // 16. importMaps_binary
+    // -------------------------------------------------------------------------
+    @Test
+    void importMaps_binary() throws Exception {
+
+        byte[] body = toBinary(
+                new MapDto(null, "A", tiles()),
+                new MapDto(null, "B", Collections.nCopies(64, 2)),
+                new MapDto(null, "A", tiles()));
+
+        System.out.println("SENDING: POST /api/maps/import with a binary batch of 3 maps");
+
+        mockMvc.perform(post("/api/maps/import")
+                        .contentType(MapBinaryFormat.MEDIA_TYPE)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.duplicates").value(1));
+
+        MvcResult result = mockMvc.perform(get("/api/maps/export").accept(MapBinaryFormat.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] exported = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MapDto> maps = fromBinary(exported);
+
+        System.out.println("RETRIEVED: " + maps);
+        System.out.println("EXPECTED : A and B with their tiles");
+
+        assertThat(maps).extracting(MapDto::getName).containsExactly("A", "B");
+        assertThat(maps.get(1).getTiles()).isEqualTo(Collections.nCopies(64, 2));
+    }
+
+    // -------------------------------------------------------------------------
+    // 17. getMapRegion_chunked
+    // -------------------------------------------------------------------------
+    @Test
+    void getMapRegion_chunked() throws Exception {
+
+        int width = 200;
+        int height = 130;
+        TileGrid grid = new TileGrid(width * height);
+        for (int i = 0; i < grid.size(); i++) {
+            grid.set(i, (i % width + i / width) % 3);
+        }
+        byte[] body = toBinary(new MapDto(null, "largeMap", width, height, grid));
+
+        System.out.println("SENDING: POST /api/maps with a " + width + "x" + height + " binary map");
+
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MapBinaryFormat.MEDIA_TYPE)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.width").value(width))
+                .andExpect(jsonPath("$.tiles").doesNotExist());
+
+        assertThat(chunkRepo.count()).isEqualTo(4 * 3);
+
+        // Tiles 60 to 69 on both axes overlap 4 chunks
+        mockMvc.perform(get("/api/maps/region")
+                        .param("name", "largeMap")
+                        .param("x", "60").param("y", "60")
+                        .param("width", "10").param("height", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunks.length()").value(4))
+                .andExpect(jsonPath("$.chunks[3].x").value(64))
+                .andExpect(jsonPath("$.chunks[3].y").value(64))
+                .andExpect(jsonPath("$.chunks[3].tiles.length()").value(64 * 64))
+                .andExpect(jsonPath("$.chunks[3].tiles[1]").value((65 + 64) % 3))
+                .andDo(result -> {
+                    System.out.println("RETRIEVED: " + result.getResponse().getContentAsString().length() + " chars");
+                    System.out.println("EXPECTED : 4 chunks of 64x64 tiles");
+                });
+
+        // The last column of chunks is cut at the border of the map
+        mockMvc.perform(get("/api/maps/region")
+                        .param("name", "largeMap")
+                        .param("x", "190").param("y", "0")
+                        .param("width", "10").param("height", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunks.length()").value(2))
+                .andExpect(jsonPath("$.chunks[1].width").value(200 - 3 * 64));
+
+        mockMvc.perform(get("/api/maps/region")
+                        .param("name", "largeMap")
+                        .param("x", "190").param("y", "0")
+                        .param("width", "20").param("height", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // -------------------------------------------------------------------------
+    // 18. getSimilarMaps_rotated
+    // -------------------------------------------------------------------------
+    @Test
+    void getSimilarMaps_rotated() throws Exception {
+
+        List<Integer> original = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            original.add((i * 7 + i / 8) % 3);
+        }
+        // Rotated by a quarter turn, with one tile changed
+        List<Integer> rotated = new ArrayList<>(Collections.nCopies(64, 0));
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                rotated.set(x * 8 + (7 - y), original.get(y * 8 + x));
+            }
+        }
+        List<Integer> nearCopy = new ArrayList<>(rotated);
+        nearCopy.set(20, (nearCopy.get(20) + 1) % 3);
+
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "original", original))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/maps/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(
+                                new MapDto(null, "nearCopy", nearCopy),
+                                new MapDto(null, "other", tiles())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+
+        System.out.println("SENDING: GET /api/maps/similar?name=original");
+
+        mockMvc.perform(get("/api/maps/similar").param("name", "original"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("nearCopy"))
+                .andExpect(jsonPath("$[0].distance").value(1))
+                .andDo(result -> {
+                    System.out.println("RETRIEVED: " + result.getResponse().getContentAsString());
+                    System.out.println("EXPECTED : nearCopy at distance 1");
+                });
+
+        mockMvc.perform(post("/api/maps")
+                        .param("rejectDuplicates", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "rotatedCopy", rotated))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "rotatedCopy", rotated))))
+                .andExpect(status().isCreated());
+    }
+
+    // -------------------------------------------------------------------------
+    // 19. searchMaps_filterAndSort
+    // -------------------------------------------------------------------------
+    @Test
+    void searchMaps_filterAndSort() throws Exception {
+
+        List<Integer> lake = new ArrayList<>(Collections.nCopies(64, 0));
+        for (int i = 0; i < 30; i++) {
+            lake.set(i, 2);
+        }
+        List<Integer> pond = new ArrayList<>(Collections.nCopies(64, 0));
+        for (int i = 0; i < 20; i++) {
+            pond.set(i, 2);
+        }
+        repo.save(new MapEntity("lake", lake));
+        repo.save(new MapEntity("pond", pond));
+        repo.save(new MapEntity("forest", tiles()));
+
+        System.out.println("SENDING: GET /api/maps/search?minWaterTiles=20&sort=waterTiles&order=desc");
+
+        mockMvc.perform(get("/api/maps/search")
+                        .param("minWaterTiles", "20")
+                        .param("sort", "waterTiles")
+                        .param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("lake"))
+                .andExpect(jsonPath("$[0].stats.waterTiles").value(30))
+                .andExpect(jsonPath("$[0].tiles").doesNotExist())
+                .andExpect(jsonPath("$[1].name").value("pond"))
+                .andDo(result -> {
+                    System.out.println("RETRIEVED: " + result.getResponse().getContentAsString());
+                    System.out.println("EXPECTED : lake then pond");
+                });
+
+        mockMvc.perform(get("/api/maps/search").param("minLargestTreeArea", "64"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("forest"));
+
+        mockMvc.perform(get("/api/maps/search").param("minDepth", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // -------------------------------------------------------------------------
+    // 20. backfillStats
+    // -------------------------------------------------------------------------
+    @Test
+    void backfillStats() throws Exception {
+
+        repo.save(new MapEntity("computed", tiles()));
+        // A map saved before the statistics existed
+        jdbcTemplate.update("INSERT INTO maps (name, width, height, tiles) VALUES (?, 8, 8, ?)",
+                "legacy", TileGrid.of(Collections.nCopies(64, 2)).toBytes());
+
+        int retrieved = statsBackfill.backfill();
+
+        System.out.println("RETRIEVED: " + retrieved + " maps backfilled");
+        System.out.println("EXPECTED : 1");
+
+        assertThat(retrieved).isEqualTo(1);
+        assertThat(statsBackfill.backfill()).isZero();
+        mockMvc.perform(get("/api/maps/by-name").param("name", "legacy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.largestWaterArea").value(64));
+    }
+
+    // -------------------------------------------------------------------------
+    // 21. generateMaps_save
+    // -------------------------------------------------------------------------
+    @Test
+    void generateMaps_save() throws Exception {
+
+        String request = """
+                {"seed": 7, "count": 40, "minClusterSize": 2, "connected": ["WATER"], "namePrefix": "daily"}""";
+
+        System.out.println("SENDING: POST /api/generator " + request);
+
+        String first = mockMvc.perform(post("/api/generator")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seed").value(7))
+                .andExpect(jsonPath("$.maps.length()").value(40))
+                .andExpect(jsonPath("$.maps[39].name").value("daily-39"))
+                .andExpect(jsonPath("$.maps[0].tiles.length()").value(64))
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(post("/api/generator")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + second.substring(0, 120));
+        System.out.println("EXPECTED : " + first.substring(0, 120));
+
+        assertThat(second).isEqualTo(first);
+
+        mockMvc.perform(post("/api/generator")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request.replace("}", ", \"save\": true}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maps").doesNotExist())
+                .andExpect(jsonPath("$.saved.created").value(40));
+        mockMvc.perform(get("/api/maps/by-name").param("name", "daily-12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.plainTiles").value(26));
+
+        mockMvc.perform(post("/api/generator")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minClusterSize\": 20, \"proportions\": {\"PLAIN\": 0.8, \"WATER\": 0.2}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // -------------------------------------------------------------------------
+    // 22. metrics_prometheus
+    // -------------------------------------------------------------------------
+    @Test
+    void metrics_prometheus() throws Exception {
+
+        repo.save(new MapEntity("measured", tiles()));
+        mockMvc.perform(get("/api/maps/by-name").param("name", "measured"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/maps/by-name").param("name", "unmeasured"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"\", \"tiles\": []}"))
+                .andExpect(status().isBadRequest());
+
+        System.out.println("SENDING: GET /actuator/prometheus");
+
+        String retrieved = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + retrieved.lines().filter(line -> line.contains("by-name")).toList());
+        System.out.println("EXPECTED : request histograms of GET /api/maps/by-name with status 200 and 404");
+
+        assertThat(retrieved)
+                .contains("http_server_requests_seconds_count{method=\"GET\",status=\"200\",uri=\"/api/maps/by-name\"}")
+                .contains("http_server_requests_seconds_bucket{method=\"GET\",status=\"404\",uri=\"/api/maps/by-name\",le=\"+Inf\"}")
+                .contains("spring_data_repository_invocations_seconds_count{exception=\"none\",method=\"findByName\",repository=\"MapRepository\"}")
+                .contains("game_lookups_not_found_total{operation=\"MapService.getMapByName\"}")
+                .contains("game_validation_failures_total{operation=\"MapService.saveMap\"}")
+                .contains("jdbc_statements_seconds_count")
+                .contains("game_cache_gets_total{cache=\"maps\",result=\"miss\"}")
+                .doesNotContain("uri=\"/actuator");
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'game.cache.size')].measurements.value").exists());
+    }
+
+    // -------------------------------------------------------------------------
+    // 23. loadSeedPack_once
+    // -------------------------------------------------------------------------
+    @Test
+    void loadSeedPack_once() throws Exception {
+
+        ClassPathResource pack = new ClassPathResource("seed/default.pack");
+        // Loaded when the application started
+        assertThat(seedPackService.load(pack)).isNull();
+
+        jdbcTemplate.update("DELETE FROM seed_packs");
+        ImportResultDto retrieved = seedPackService.load(pack);
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : 3 maps created");
+
+        assertThat(retrieved.created()).isEqualTo(3);
+        assertThat(seedPackService.load(pack)).isNull();
+        mockMvc.perform(get("/api/maps"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0]").value("Map-Chill"));
+
+        // A pack with an invalid map is not loaded at all
+        byte[] invalid = pack.getInputStream().readAllBytes();
+        invalid[invalid.length - 20] = (byte) 0xFF;
+        jdbcTemplate.update("DELETE FROM seed_packs");
+        repo.deleteAll();
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> seedPackService.load(new ByteArrayResource(invalid)));
+        assertThat(repo.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seed_packs", Integer.class)).isZero();
+
+        // Nor a pack with a chunked map, as exported without its tiles
+        ByteArrayOutputStream chunked = new ByteArrayOutputStream();
+        SeedPackFormat.write(List.of(new MapDto(null, "huge", 128, 128, null)), chunked);
+        IllegalArgumentException rejected = org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> seedPackService.load(new ByteArrayResource(chunked.toByteArray())));
+        assertThat(rejected.getMessage()).contains("larger than 64x64");
+    }
+
+    // -------------------------------------------------------------------------
+    // 24. session_placeAndUndo
+    // -------------------------------------------------------------------------
+    @Test
+    void session_placeAndUndo() throws Exception {
+        repo.deleteAll();
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "forest", tiles()))))
+                .andExpect(status().isCreated());
+
+        String body = mockMvc.perform(post("/api/sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mapName\": \"forest\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.score").value(0))
+                .andExpect(jsonPath("$.inventory.BEAR").value(1))
+                .andReturn().getResponse().getContentAsString();
+        String id = mapper.readTree(body).get("id").asText();
+
+        mockMvc.perform(post("/api/sessions/" + id + "/moves")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"animal\": \"BEAR\", \"x\": 0, \"y\": 0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(38))
+                .andExpect(jsonPath("$.turn").value(3))
+                .andExpect(jsonPath("$.canUndo").value(true));
+        mockMvc.perform(post("/api/sessions/" + id + "/moves")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"animal\": \"FISH\", \"x\": 1, \"y\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        String retrieved = mockMvc.perform(post("/api/sessions/" + id + "/undo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(0))
+                .andExpect(jsonPath("$.moves.length()").value(0))
+                .andExpect(jsonPath("$.canRedo").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : the session back to its first turn");
+
+        mockMvc.perform(delete("/api/sessions/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/sessions/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    // -------------------------------------------------------------------------
+    // 25. leaderboard_submitAndFlush
+    // -------------------------------------------------------------------------
+    @Test
+    void leaderboard_submitAndFlush() throws Exception {
+        repo.deleteAll();
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "forest", Collections.nCopies(64, 0)))))
+                .andExpect(status().isCreated());
+        leaderboardService.flush();
+        Integer mapId = repo.findByName("forest").orElseThrow().getId();
+
+        // Without trees a bear scores 6, under the first limit, and the game is over
+        String[][] games = {{"alice", "0"}, {"bob", "1"}};
+        for (String[] game : games) {
+            String body = mockMvc.perform(post("/api/sessions")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"mapName\": \"forest\"}"))
+                    .andReturn().getResponse().getContentAsString();
+            String id = mapper.readTree(body).get("id").asText();
+            // The game is not over yet
+            mockMvc.perform(post("/api/leaderboards/forest")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"sessionId\": \"" + id + "\", \"playerName\": \"" + game[0] + "\"}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/sessions/" + id + "/moves")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"animal\": \"BEAR\", \"x\": " + game[1] + ", \"y\": 1}"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(post("/api/leaderboards/forest")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"sessionId\": \"" + id + "\", \"playerName\": \"" + game[0] + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.playerName").value(game[0]));
+            // A session is submitted once
+            mockMvc.perform(post("/api/leaderboards/forest")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"sessionId\": \"" + id + "\", \"playerName\": \"carol\"}"))
+                    .andExpect(status().isNotFound());
+        }
+
+        String retrieved = mockMvc.perform(get("/api/leaderboards/forest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].playerName").value("alice"))
+                .andExpect(jsonPath("$[0].score").value(6))
+                .andExpect(jsonPath("$[1].rank").value(2))
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : alice first, bob second with the same score");
+
+        mockMvc.perform(get("/api/leaderboards/forest/players/bob"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2))
+                .andExpect(jsonPath("$.score").value(6));
+        mockMvc.perform(get("/api/leaderboards/forest/players/carol"))
+                .andExpect(status().isNotFound());
+
+        leaderboardService.flush();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scores WHERE map_id = ?",
+                Integer.class, mapId)).isEqualTo(2);
+    }
+
+    // -------------------------------------------------------------------------
+    // 26. updateMap_versions
+    // -------------------------------------------------------------------------
+    @Test
+    void updateMap_versions() throws Exception {
+        repo.deleteAll();
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "edited", tiles()))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(1));
+        String firstEtag = mockMvc.perform(get("/api/maps/by-name").param("name", "edited"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        List<Integer> second = new ArrayList<>(tiles());
+        second.set(10, 2);
+        MapDto update = new MapDto(null, "edited", second);
+        update.setVersion(1);
+        mockMvc.perform(put("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.tiles[10]").value(2));
+        // Based on a version that is no longer the current one
+        mockMvc.perform(put("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(update)))
+                .andExpect(status().isConflict());
+
+        List<Integer> third = new ArrayList<>(second);
+        third.set(63, 0);
+        mockMvc.perform(put("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "edited", third))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3));
+
+        mockMvc.perform(get("/api/maps/by-name").param("name", "edited"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.tiles[63]").value(0));
+        mockMvc.perform(get("/api/maps/versions").param("name", "edited").param("version", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.tiles[10]").value(1))
+                .andExpect(jsonPath("$.tiles[63]").value(1));
+        String retrieved = mockMvc.perform(get("/api/maps/diff")
+                        .param("name", "edited").param("from", "1").param("to", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].x").value(2))
+                .andExpect(jsonPath("$.changes[0].y").value(1))
+                .andExpect(jsonPath("$.changes[1].to").value(0))
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : tiles 10 and 63 changed");
+
+        mockMvc.perform(get("/api/maps/versions").param("name", "edited").param("version", "4"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "missing", tiles()))))
+                .andExpect(status().isNotFound());
+
+        // Back to the tiles of version 1, a client holding version 1 must get version 4
+        mockMvc.perform(put("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "edited", tiles()))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(firstEtag)));
+        mockMvc.perform(get("/api/maps/by-name").param("name", "edited").header("If-None-Match", firstEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4));
+        mockMvc.perform(get("/api/maps/versions").param("name", "edited").param("version", "1"))
+                .andExpect(header().string("ETag", firstEtag));
+    }
+
+    // -------------------------------------------------------------------------
+    // 27. getMaps_batch
+    // -------------------------------------------------------------------------
+    @Test
+    void getMaps_batch() throws Exception {
+        repo.deleteAll();
+        mapCache.invalidateAll();
+        for (String name : List.of("gallery1", "gallery2")) {
+            mockMvc.perform(post("/api/maps")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(new MapDto(null, name, tiles()))))
+                    .andExpect(status().isCreated());
+        }
+        int secondId = repo.findByName("gallery2").orElseThrow().getId();
+        // Cached, the batch only queries the other names
+        mockMvc.perform(get("/api/maps/by-name").param("name", "gallery1")).andExpect(status().isOk());
+
+        MapBatchRequestDto request = new MapBatchRequestDto(
+                List.of("gallery1", "unknown", "gallery2"), List.of(secondId, -1));
+        String retrieved = mockMvc.perform(post("/api/maps/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maps.length()").value(3))
+                .andExpect(jsonPath("$.maps[0].name").value("gallery1"))
+                .andExpect(jsonPath("$.maps[1].name").value("gallery2"))
+                .andExpect(jsonPath("$.maps[2].id").value(secondId))
+                .andExpect(jsonPath("$.missingNames[0]").value("unknown"))
+                .andExpect(jsonPath("$.missingIds[0]").value(-1))
+                .andReturn().getResponse().getContentAsString();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : gallery1, gallery2 twice, unknown and -1 missing");
+
+        mockMvc.perform(post("/api/maps/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapBatchRequestDto(List.of(), null))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/maps/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapBatchRequestDto(
+                                IntStream.range(0, 101).mapToObj(i -> "map" + i).toList(), null))))
+                .andExpect(status().isBadRequest());
+    }
+
+    // -------------------------------------------------------------------------
+    // 28. getMapByName_binaryEtag
+    // -------------------------------------------------------------------------
+    @Test
+    void getMapByName_binaryEtag() throws Exception {
+        repo.deleteAll();
+        mapCache.invalidateAll();
+        repo.save(new MapEntity("binaryMap", tiles()));
+
+        String jsonEtag = mockMvc.perform(get("/api/maps/by-name").param("name", "binaryMap"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String binaryEtag = mockMvc.perform(get("/api/maps/by-name").param("name", "binaryMap")
+                        .accept(MapBinaryFormat.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MapBinaryFormat.MEDIA_TYPE))
+                .andReturn().getResponse().getHeader("ETag");
+
+        System.out.println("RETRIEVED: " + jsonEtag + " " + binaryEtag);
+        System.out.println("EXPECTED : two different ETags");
+
+        assertThat(binaryEtag).isNotEqualTo(jsonEtag);
+        // The ETag of the other representation does not match
+        mockMvc.perform(get("/api/maps/by-name").param("name", "binaryMap")
+                        .accept(MapBinaryFormat.MEDIA_TYPE)
+                        .header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk());
+
+        // Revalidated from the stored hash, the map is not loaded in the cache
+        mapCache.invalidateAll();
+        long misses = mapCache.getStats().misses();
+        mockMvc.perform(get("/api/maps/by-name").param("name", "binaryMap")
+                        .accept(MapBinaryFormat.MEDIA_TYPE)
+                        .header("If-None-Match", binaryEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/maps/by-name").param("name", "binaryMap")
+                        .header("If-None-Match", jsonEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", jsonEtag));
+        assertThat(mapCache.getStats().misses()).isEqualTo(misses);
+    }
+
+    // -------------------------------------------------------------------------
+    // 29. importMaps_rolledBack
+    // -------------------------------------------------------------------------
+    @Test
+    void importMaps_rolledBack() {
+        repo.deleteAll();
+        nameIndex.invalidate();
+        assertThat(nameIndex.getNames()).isEmpty();
+
+        // Like the seed packs, imported in the transaction of the caller
+        transactionTemplate.executeWithoutResult(status -> {
+            importService.importMaps(List.of(new MapDto(null, "rolledBack", tiles())));
+            status.setRollbackOnly();
+        });
+        List<String> retrieved = nameIndex.getNames();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : []");
+
+        assertThat(retrieved).isEmpty();
+        assertThat(repo.findByName("rolledBack")).isEmpty();
+    }
+
+    // -------------------------------------------------------------------------
+    // 30. backfillSimilarity
+    // -------------------------------------------------------------------------
+    @Test
+    void backfillSimilarity() throws Exception {
+        repo.deleteAll();
+        jdbcTemplate.update("DELETE FROM map_bands");
+        mockMvc.perform(post("/api/maps")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MapDto(null, "indexed", tiles()))))
+                .andExpect(status().isCreated());
+        // A map saved before the similarity search existed
+        List<Integer> legacyTiles = new ArrayList<>(tiles());
+        legacyTiles.set(0, 2);
+        jdbcTemplate.update("INSERT INTO maps (name, width, height, tiles) VALUES (?, 8, 8, ?)",
+                "unindexed", TileGrid.of(legacyTiles).toBytes());
+
+        int retrieved = similarityBackfill.backfill();
+
+        System.out.println("RETRIEVED: " + retrieved + " maps indexed");
+        System.out.println("EXPECTED : 1");
+
+        assertThat(retrieved).isEqualTo(1);
+        assertThat(similarityBackfill.backfill()).isZero();
+        assertThat(repo.findByName("unindexed").orElseThrow().getCanonicalTiles()).isNotNull();
+        mockMvc.perform(get("/api/maps/similar").param("name", "indexed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("unindexed"));
+    }
 }
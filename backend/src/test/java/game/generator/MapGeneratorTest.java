@@ -0,0 +1,112 @@
+package game.generator;
+
+import game.model.MapStats;
+import game.model.TileGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. generate_sameSeedSameMap
+2. generate_meetsConstraints
+3. tileCounts_matchProportions
+*/
+
+class MapGeneratorTest {
+
+    private static MapGenerator.Constraints constraints(int minClusterSize, boolean connectedPlains) {
+        return new MapGenerator.Constraints(8, 8, new double[]{0.5, 0.3, 0.2}, minClusterSize,
+                new boolean[]{connectedPlains, false, false}, 50);
+    }
+
+    // Size of the smallest group of adjacent tiles of the same type
+    private int smallestCluster(TileGrid grid, int size) {
+        boolean[] seen = new boolean[grid.size()];
+        int smallest = Integer.MAX_VALUE;
+        for (int start = 0; start < grid.size(); start++) {
+            if (seen[start]) continue;
+            int type = grid.get(start);
+            int cluster = 0;
+            Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            seen[start] = true;
+            while (!queue.isEmpty()) {
+                int index = queue.poll();
+                cluster++;
+                int x = index % size;
+                int y = index / size;
+                int[] neighbours = {x > 0 ? index - 1 : -1, x < size - 1 ? index + 1 : -1,
+                        y > 0 ? index - size : -1, y < size - 1 ? index + size : -1};
+                for (int neighbour : neighbours) {
+                    if (neighbour >= 0 && !seen[neighbour] && grid.get(neighbour) == type) {
+                        seen[neighbour] = true;
+                        queue.add(neighbour);
+                    }
+                }
+            }
+            smallest = Math.min(smallest, cluster);
+        }
+        return smallest;
+    }
+
+    // ---------------------------------------------------------
+    // 1. generate_sameSeedSameMap
+    // ---------------------------------------------------------
+    @Test
+    void generate_sameSeedSameMap() {
+        TileGrid first = new MapGenerator(constraints(3, true)).generate(42);
+        TileGrid second = new MapGenerator(constraints(3, true)).generate(42);
+        TileGrid other = new MapGenerator(constraints(3, true)).generate(43);
+
+        System.out.println("RETRIEVED: " + first);
+        System.out.println("EXPECTED : " + second);
+
+        assertNotNull(first);
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    // ---------------------------------------------------------
+    // 2. generate_meetsConstraints
+    // ---------------------------------------------------------
+    @Test
+    void generate_meetsConstraints() {
+        MapGenerator generator = new MapGenerator(constraints(3, true));
+
+        for (long seed = 0; seed < 200; seed++) {
+            TileGrid grid = generator.generate(seed);
+            assertNotNull(grid, "seed " + seed);
+
+            MapStats stats = MapStats.of(grid, 8, 8);
+            assertEquals(32, stats.getPlainTiles());
+            assertEquals(19, stats.getTreeTiles());
+            assertEquals(13, stats.getWaterTiles());
+            assertEquals(stats.getPlainTiles(), stats.getLargestPlainArea(), "seed " + seed);
+            assertTrue(smallestCluster(grid, 8) >= 3, "seed " + seed);
+        }
+
+        TileGrid last = generator.generate(199);
+        System.out.println("RETRIEVED: " + Arrays.toString(MapStats.of(last, 8, 8).values()));
+        System.out.println("EXPECTED : 32 plains in one group, 19 trees, 13 waters, no group under 3 tiles");
+    }
+
+    // ---------------------------------------------------------
+    // 3. tileCounts_matchProportions
+    // ---------------------------------------------------------
+    @Test
+    void tileCounts_matchProportions() {
+        int[] retrieved = MapGenerator.tileCounts(new double[]{1, 1, 1}, 64);
+
+        System.out.println("RETRIEVED: " + Arrays.toString(retrieved));
+        System.out.println("EXPECTED : 64 tiles split in three");
+
+        assertEquals(64, Arrays.stream(retrieved).sum());
+        assertArrayEquals(new int[]{22, 21, 21}, retrieved);
+        assertArrayEquals(new int[]{0, 64, 0}, MapGenerator.tileCounts(new double[]{0, 5, 0}, 64));
+    }
+}
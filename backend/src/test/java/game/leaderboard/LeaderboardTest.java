@@ -0,0 +1,101 @@
+package game.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. topAndRank
+2. submit_keepsBestScore
+3. submit_concurrentPlayers
+*/
+
+class LeaderboardTest {
+
+    // ---------------------------------------------------------
+    // 1. topAndRank
+    // ---------------------------------------------------------
+    @Test
+    void topAndRank() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.submit("alice", 40, 1);
+        leaderboard.submit("bob", 90, 2);
+        leaderboard.submit("carol", 40, 0);
+
+        List<String> retrieved = leaderboard.top(2).stream().map(Leaderboard.Entry::playerName).toList();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : [bob, carol]");
+
+        assertEquals(List.of("bob", "carol"), retrieved);
+        assertEquals(1, leaderboard.rank("bob"));
+        assertEquals(3, leaderboard.rank("alice"));
+        assertEquals(0, leaderboard.rank("dave"));
+    }
+
+    // ---------------------------------------------------------
+    // 2. submit_keepsBestScore
+    // ---------------------------------------------------------
+    @Test
+    void submit_keepsBestScore() {
+        Leaderboard leaderboard = new Leaderboard();
+
+        assertTrue(leaderboard.submit("alice", 40, 1));
+        assertFalse(leaderboard.submit("alice", 30, 2));
+        assertFalse(leaderboard.submit("alice", 40, 3));
+        assertTrue(leaderboard.submit("alice", 50, 4));
+
+        System.out.println("RETRIEVED: " + leaderboard.top(10));
+        System.out.println("EXPECTED : a single entry of alice, 50");
+
+        assertEquals(List.of(new Leaderboard.Entry("alice", 50, 4)), leaderboard.top(10));
+        assertEquals(1, leaderboard.size());
+    }
+
+    // ---------------------------------------------------------
+    // 3. submit_concurrentPlayers
+    // ---------------------------------------------------------
+    @Test
+    void submit_concurrentPlayers() throws InterruptedException {
+        Leaderboard leaderboard = new Leaderboard();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        AtomicInteger running = new AtomicInteger(4);
+        AtomicBoolean duplicated = new AtomicBoolean();
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int score = 0; score < 1000; score++) {
+                    leaderboard.submit("player" + score % 100, score, score);
+                }
+                running.decrementAndGet();
+            });
+        }
+        // A player is never listed twice while its best score is replaced
+        executor.execute(() -> {
+            while (running.get() > 0) {
+                List<Leaderboard.Entry> top = leaderboard.top(1000);
+                if (top.stream().map(Leaderboard.Entry::playerName).distinct().count() != top.size()) {
+                    duplicated.set(true);
+                }
+            }
+        });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        System.out.println("RETRIEVED: " + leaderboard.size() + " players, best " + leaderboard.top(1));
+        System.out.println("EXPECTED : 100 players, best player99 999");
+
+        assertEquals(100, leaderboard.size());
+        assertEquals(100, leaderboard.top(1000).size());
+        assertEquals(new Leaderboard.Entry("player99", 999, 999), leaderboard.top(1).get(0));
+        assertEquals(100, leaderboard.rank("player0"));
+        assertFalse(duplicated.get());
+    }
+}
@@ -0,0 +1,173 @@
+package game.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import game.dto.GenerateRequestDto;
+import game.generator.GeneratorService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+Tests List :
+1. mixedWorkload_openModel → drive the mixed workload at the target rate and report throughput, latencies and errors
+
+Only runs in the load profile: mvn -Pload test
+Settings, as system properties:
+  load.rate            requests per second (200)
+  load.duration        measured seconds (30)
+  load.warmup          seconds sent before the measure starts (10)
+  load.maps            maps in the catalog before the run (10000)
+  load.mix             weights of the operations (list=5,byName=85,create=10)
+  load.missing         share of the by-name lookups for a missing map (0.05)
+  load.arrivals        poisson or uniform (poisson)
+  load.seed            seed of the catalog and of the schedule (1)
+  load.max-error-rate  error rate above which the run fails (0.01)
+The report is printed and written to target/load-report.json.
+*/
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load",
+        "game.movelog.directory=target/moves-load",
+        "logging.level.root=WARN",
+        "game.stats.backfill.enabled=false",
+        "game.generator.max-count=1000000"
+})
+class LoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GeneratorService generatorService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private List<OpenLoadGenerator.Operation> operations(String mix, int mapCount, double missing) {
+        String base = "http://localhost:" + port + "/api/maps";
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+
+        List<OpenLoadGenerator.Operation> operations = new ArrayList<>();
+        operations.add(new OpenLoadGenerator.Operation("list", weights.getOrDefault("list", 0),
+                value -> HttpRequest.newBuilder(URI.create(base)).GET().build(),
+                status -> status == 200));
+        operations.add(new OpenLoadGenerator.Operation("byName", weights.getOrDefault("byName", 0),
+                value -> {
+                    SplittableRandom random = new SplittableRandom(value);
+                    String name = random.nextDouble() < missing
+                            ? "missing-" + random.nextInt(mapCount)
+                            : "load-" + random.nextInt(mapCount);
+                    return HttpRequest.newBuilder(URI.create(base + "/by-name?name="
+                            + URLEncoder.encode(name, StandardCharsets.UTF_8))).GET().build();
+                },
+                status -> status == 200 || status == 404));
+        operations.add(new OpenLoadGenerator.Operation("create", weights.getOrDefault("create", 0),
+                value -> {
+                    SplittableRandom random = new SplittableRandom(value);
+                    StringBuilder body = new StringBuilder("{\"name\": \"created-")
+                            .append(Long.toHexString(value)).append("\", \"tiles\": [");
+                    for (int i = 0; i < 64; i++) {
+                        body.append(i == 0 ? "" : ",").append(random.nextInt(3));
+                    }
+                    body.append("]}");
+                    return HttpRequest.newBuilder(URI.create(base))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build();
+                },
+                status -> status == 201));
+        operations.removeIf(operation -> operation.weight() == 0);
+        return operations;
+    }
+
+    // ---------------------------------------------------------
+    // 1. mixedWorkload_openModel
+    // ---------------------------------------------------------
+    @Test
+    void mixedWorkload_openModel() throws Exception {
+        int mapCount = (int) doubleProperty("load.maps", 10000);
+        long seed = (long) doubleProperty("load.seed", 1);
+        double missing = doubleProperty("load.missing", 0.05);
+        OpenLoadGenerator.Settings settings = new OpenLoadGenerator.Settings(
+                doubleProperty("load.rate", 200),
+                Duration.ofMillis((long) (doubleProperty("load.warmup", 10) * 1000)),
+                Duration.ofMillis((long) (doubleProperty("load.duration", 30) * 1000)),
+                !property("load.arrivals", "poisson").equals("uniform"),
+                seed,
+                Duration.ofSeconds(30));
+
+        System.out.println("SEEDING: " + mapCount + " maps");
+        generatorService.generate(new GenerateRequestDto(seed, mapCount, null, null, null, null, null, "load", true));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        OpenLoadGenerator.Report report;
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            List<OpenLoadGenerator.Operation> operations =
+                    operations(property("load.mix", "list=5,byName=85,create=10"), mapCount, missing);
+            System.out.println("SENDING: " + settings.rate() + " requests/s for " + settings.duration().toSeconds()
+                    + " s after a warmup of " + settings.warmup().toSeconds() + " s");
+            report = new OpenLoadGenerator(client, operations, settings).run();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println("RETRIEVED:");
+        System.out.printf("%-8s %9s %7s %9s %10s %10s %10s %10s%n",
+                "", "requests", "errors", "req/s", "p50 us", "p99 us", "p999 us", "max us");
+        for (OpenLoadGenerator.OperationReport line : report.operations()) {
+            System.out.printf("%-8s %9d %6.2f%% %9.1f %10d %10d %10d %10d%n", line.operation(), line.requests(),
+                    line.errorRate() * 100, line.throughput(), line.p50(), line.p99(), line.p999(), line.max());
+        }
+        System.out.println("Largest delay of the generator behind its schedule: " + report.maxSendLagMicros() + " us");
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("maps", mapCount);
+        json.put("report", report);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(Path.of("target", "load-report.json").toFile(), json);
+
+        OpenLoadGenerator.OperationReport all = report.operations().get(report.operations().size() - 1);
+        double maxErrorRate = doubleProperty("load.max-error-rate", 0.01);
+        System.out.println("EXPECTED : error rate at most " + maxErrorRate * 100 + "%");
+        assertThat(all.requests()).isPositive();
+        assertThat(all.errorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+}
@@ -0,0 +1,163 @@
+package game.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load generator: requests are sent at their scheduled arrival
+ * time whether or not the previous ones have completed, so a slow server
+ * gets more requests in flight instead of fewer requests. The latency of a
+ * request is measured from its scheduled arrival, not from the moment it
+ * was sent, which keeps the time spent waiting behind a stall in the
+ * results (no coordinated omission).
+ *
+ * The schedule, the operation of each arrival and the random values given
+ * to the operations are all drawn from the seed, so two runs with the same
+ * settings send the same requests.
+ */
+final class OpenLoadGenerator {
+
+    /**
+     * @param request builds the request of an arrival from a random value drawn for it
+     * @param success tells whether a status code is an expected answer
+     */
+    record Operation(String name, int weight, LongFunction<HttpRequest> request, IntPredicate success) {
+    }
+
+    record Settings(double rate, Duration warmup, Duration duration, boolean poisson, long seed, Duration timeout) {
+    }
+
+    /**
+     * Measured requests of an operation, the latencies in microseconds.
+     */
+    record OperationReport(String operation, long requests, long errors, double errorRate, double throughput,
+                           long p50, long p99, long p999, long max) {
+    }
+
+    record Report(List<OperationReport> operations, long maxSendLagMicros) {
+    }
+
+    private static final int TRANSPORT_ERROR = -1;
+
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final Settings settings;
+
+    OpenLoadGenerator(HttpClient client, List<Operation> operations, Settings settings) {
+        this.client = client;
+        this.operations = operations;
+        this.settings = settings;
+    }
+
+    Report run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long warmupNanos = settings.warmup().toNanos();
+        long endNanos = warmupNanos + settings.duration().toNanos();
+        double meanIntervalNanos = 1e9 / settings.rate();
+        int capacity = (int) Math.ceil(settings.rate() * endNanos / 1e9 * 1.2) + 16;
+
+        // Arrival times as offsets from the start, with their operation and random value
+        long[] arrivals = new long[capacity];
+        int[] operationOf = new int[capacity];
+        long[] values = new long[capacity];
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        int count = 0;
+        double time = 0;
+        while (true) {
+            time += settings.poisson() ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+            if (time >= endNanos) break;
+            if (count == arrivals.length) {
+                arrivals = Arrays.copyOf(arrivals, count * 2);
+                operationOf = Arrays.copyOf(operationOf, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+            }
+            arrivals[count] = (long) time;
+            operationOf[count] = pick(random.nextInt(totalWeight));
+            values[count] = random.nextLong();
+            count++;
+        }
+
+        long[] latencies = new long[count];
+        int[] statuses = new int[count];
+        Arrays.fill(latencies, -1);
+        CountDownLatch completed = new CountDownLatch(count);
+        long maxLag = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long scheduled = start + arrivals[i];
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxLag = Math.max(maxLag, System.nanoTime() - scheduled);
+
+            int arrival = i;
+            HttpRequest request = operations.get(operationOf[i]).request().apply(values[i]);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .orTimeout(settings.timeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((response, exception) -> {
+                        statuses[arrival] = exception == null ? response.statusCode() : TRANSPORT_ERROR;
+                        latencies[arrival] = System.nanoTime() - scheduled;
+                        completed.countDown();
+                    });
+        }
+        completed.await(settings.timeout().toMillis() + 1000, TimeUnit.MILLISECONDS);
+
+        List<OperationReport> reports = new ArrayList<>();
+        for (int op = 0; op < operations.size(); op++) {
+            reports.add(report(operations.get(op).name(), op, arrivals, operationOf, statuses, latencies, count));
+        }
+        reports.add(report("all", -1, arrivals, operationOf, statuses, latencies, count));
+        return new Report(reports, TimeUnit.NANOSECONDS.toMicros(maxLag));
+    }
+
+    private int pick(int draw) {
+        for (int op = 0; op < operations.size(); op++) {
+            draw -= operations.get(op).weight();
+            if (draw < 0) return op;
+        }
+        throw new IllegalStateException("Weights changed during the run");
+    }
+
+    // Only the arrivals after the warmup are measured, timed out requests count as errors
+    private OperationReport report(String name, int op, long[] arrivals, int[] operationOf, int[] statuses,
+                                   long[] latencies, int count) {
+        long warmupNanos = settings.warmup().toNanos();
+        long[] measured = new long[count];
+        int requests = 0;
+        long errors = 0;
+        for (int i = 0; i < count; i++) {
+            if (arrivals[i] < warmupNanos || (op >= 0 && operationOf[i] != op)) continue;
+            long latency = latencies[i];
+            boolean success = latency >= 0 && statuses[i] != TRANSPORT_ERROR
+                    && operations.get(operationOf[i]).success().test(statuses[i]);
+            if (!success) errors++;
+            measured[requests++] = latency >= 0 ? latency : settings.timeout().toNanos();
+        }
+        long[] sorted = Arrays.copyOf(measured, requests);
+        Arrays.sort(sorted);
+        double seconds = settings.duration().toNanos() / 1e9;
+        return new OperationReport(name, requests, errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                (requests - errors) / seconds,
+                percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(sorted[requests - 1]));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(rank, 0)]);
+    }
+}
@@ -0,0 +1,70 @@
+package game.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. timer_bucketsAndQuantiles
+2. prometheusFormat_histogramAndCounter
+*/
+
+class MetricsRegistryTest {
+
+    // ---------------------------------------------------------
+    // 1. timer_bucketsAndQuantiles
+    // ---------------------------------------------------------
+    @Test
+    void timer_bucketsAndQuantiles() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Timer timer = registry.timer("requests", "uri", "/maps");
+        for (int i = 0; i < 98; i++) {
+            timer.record(TimeUnit.MICROSECONDS.toNanos(500));
+        }
+        timer.record(TimeUnit.MILLISECONDS.toNanos(30));
+        timer.record(TimeUnit.SECONDS.toNanos(20));
+
+        long[] retrieved = timer.cumulativeBuckets();
+
+        System.out.println("RETRIEVED: " + Arrays.toString(retrieved));
+        System.out.println("EXPECTED : 98 under 1 ms, 99 under 50 ms, 100 in all");
+
+        assertSame(timer, registry.timer("requests", "uri", "/maps"));
+        assertEquals(98, retrieved[0]);
+        assertEquals(98, retrieved[4]);
+        assertEquals(99, retrieved[5]);
+        assertEquals(99, retrieved[Timer.BUCKET_BOUNDS.length - 1]);
+        assertEquals(100, retrieved[Timer.BUCKET_BOUNDS.length]);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), timer.quantileNanos(0.5));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), timer.quantileNanos(0.99));
+        assertEquals(TimeUnit.SECONDS.toNanos(20), timer.quantileNanos(1));
+    }
+
+    // ---------------------------------------------------------
+    // 2. prometheusFormat_histogramAndCounter
+    // ---------------------------------------------------------
+    @Test
+    void prometheusFormat_histogramAndCounter() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.timer("http.server.requests", "uri", "/api/maps", "method", "GET")
+                .record(TimeUnit.MILLISECONDS.toNanos(3));
+        registry.counter("game.lookups.not.found", "operation", "say \"hi\"").increment();
+        registry.gauge("game.cache.size", () -> 12);
+
+        String retrieved = PrometheusFormat.write(registry.getMeters());
+
+        System.out.println("RETRIEVED: " + retrieved);
+
+        assertTrue(retrieved.contains("# TYPE game_cache_size gauge\ngame_cache_size 12\n"));
+        assertTrue(retrieved.contains("game_lookups_not_found_total{operation=\"say \\\"hi\\\"\"} 1\n"));
+        assertTrue(retrieved.contains("# TYPE http_server_requests_seconds histogram\n"));
+        assertTrue(retrieved.contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/api/maps\",le=\"0.002\"} 0\n"));
+        assertTrue(retrieved.contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/api/maps\",le=\"0.005\"} 1\n"));
+        assertTrue(retrieved.contains("http_server_requests_seconds_count{method=\"GET\",uri=\"/api/maps\"} 1\n"));
+        assertTrue(retrieved.contains("http_server_requests_seconds_sum{method=\"GET\",uri=\"/api/maps\"} 0.003\n"));
+    }
+}
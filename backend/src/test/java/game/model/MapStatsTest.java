@@ -0,0 +1,60 @@
+package game.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. of_countsTilesAreasAndEdges
+2. of_rectangularMap
+*/
+
+class MapStatsTest {
+
+    // ---------------------------------------------------------
+    // 1. of_countsTilesAreasAndEdges
+    // ---------------------------------------------------------
+    @Test
+    void of_countsTilesAreasAndEdges() {
+        TileGrid grid = TileGrid.of(Arrays.asList(
+                1, 1, 0,
+                2, 1, 0,
+                2, 0, 1
+        ));
+
+        MapStats stats = MapStats.of(grid, 3, 3);
+        int[] retrieved = stats.values();
+        // 3 plains, 4 trees, 2 waters; areas 2, 3 and 2; edges plain-tree 5, plain-water 1, tree-water 2
+        int[] expected = {3, 4, 2, 2, 3, 2, 5, 1, 2};
+
+        System.out.println("RETRIEVED: " + Arrays.toString(retrieved));
+        System.out.println("EXPECTED : " + Arrays.toString(expected));
+
+        assertArrayEquals(expected, retrieved);
+    }
+
+    // ---------------------------------------------------------
+    // 2. of_rectangularMap
+    // ---------------------------------------------------------
+    @Test
+    void of_rectangularMap() {
+        // Two forests split by a column of water, no wrapping from one row to the next
+        TileGrid grid = TileGrid.of(Arrays.asList(
+                1, 1, 2, 1, 1,
+                1, 1, 2, 1, 1
+        ));
+
+        MapStats stats = MapStats.of(grid, 5, 2);
+
+        System.out.println("RETRIEVED: " + Arrays.toString(stats.values()));
+        System.out.println("EXPECTED : largest forest 4, water 2, 4 tree-water edges");
+
+        assertEquals(8, stats.getTreeTiles());
+        assertEquals(4, stats.getLargestTreeArea());
+        assertEquals(2, stats.getLargestWaterArea());
+        assertEquals(4, stats.getTreeWaterEdges());
+    }
+}
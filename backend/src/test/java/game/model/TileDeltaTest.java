@@ -0,0 +1,61 @@
+package game.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. encode_singleTile
+2. apply_roundTrip
+*/
+
+class TileDeltaTest {
+
+    // ---------------------------------------------------------
+    // 1. encode_singleTile
+    // ---------------------------------------------------------
+    @Test
+    void encode_singleTile() {
+        TileGrid from = TileGrid.of(Collections.nCopies(64, 1));
+        TileGrid to = TileGrid.of(Collections.nCopies(64, 1));
+        to.set(37, 2);
+
+        byte[] delta = TileDelta.encode(from.toBytes(), to.toBytes());
+
+        System.out.println("RETRIEVED: " + delta.length + " bytes");
+        System.out.println("EXPECTED : 2 bytes, the gap to byte 9 and its XOR");
+
+        assertArrayEquals(new byte[]{9, (byte) (3 << 2)}, delta);
+        assertEquals(0, TileDelta.encode(from.toBytes(), from.toBytes()).length);
+    }
+
+    // ---------------------------------------------------------
+    // 2. apply_roundTrip
+    // ---------------------------------------------------------
+    @Test
+    void apply_roundTrip() {
+        SplittableRandom random = new SplittableRandom(42);
+        TileGrid from = new TileGrid(64 * 64);
+        TileGrid to = new TileGrid(64 * 64);
+        for (int i = 0; i < from.size(); i++) {
+            from.set(i, random.nextInt(3));
+            to.set(i, random.nextInt(10) == 0 ? random.nextInt(3) : from.get(i));
+        }
+
+        byte[] delta = TileDelta.encode(from.toBytes(), to.toBytes());
+        byte[] retrieved = from.toBytes();
+        TileDelta.apply(retrieved, delta);
+
+        System.out.println("RETRIEVED: " + delta.length + " bytes of delta");
+        System.out.println("EXPECTED : the tiles of the new version");
+
+        assertArrayEquals(to.toBytes(), retrieved);
+        TileDelta.apply(retrieved, delta);
+        assertArrayEquals(from.toBytes(), retrieved);
+        assertThrows(IllegalArgumentException.class, () -> TileDelta.apply(new byte[4], delta));
+    }
+}
@@ -0,0 +1,123 @@
+package game.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. packsFourTilesPerByte
+2. getSet_roundTrip
+3. asList_matchesValues
+4. fromBytes_roundTrip
+5. set_invalidValue
+6. chunkLayout_extractEdgeChunk
+*/
+
+class TileGridTest {
+
+    private List<Integer> sampleTiles() {
+        List<Integer> tiles = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            tiles.add(i % 3);
+        }
+        return tiles;
+    }
+
+    // ---------------------------------------------------------
+    // 1. packsFourTilesPerByte
+    // ---------------------------------------------------------
+    @Test
+    void packsFourTilesPerByte() {
+        TileGrid grid = new TileGrid(64);
+
+        System.out.println("RETRIEVED: " + grid.toBytes().length + " bytes");
+        System.out.println("EXPECTED : 16 bytes");
+
+        assertEquals(16, grid.toBytes().length);
+    }
+
+    // ---------------------------------------------------------
+    // 2. getSet_roundTrip
+    // ---------------------------------------------------------
+    @Test
+    void getSet_roundTrip() {
+        TileGrid grid = new TileGrid(64);
+        grid.set(5, 2);
+        grid.set(6, 1);
+        grid.set(5, 1);
+
+        assertEquals(1, grid.get(5));
+        assertEquals(1, grid.get(6));
+        assertEquals(0, grid.get(4));
+        assertEquals(0, grid.get(7));
+    }
+
+    // ---------------------------------------------------------
+    // 3. asList_matchesValues
+    // ---------------------------------------------------------
+    @Test
+    void asList_matchesValues() {
+        List<Integer> expected = sampleTiles();
+        List<Integer> retrieved = TileGrid.of(expected).asList();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : " + expected);
+
+        assertEquals(expected, retrieved);
+    }
+
+    // ---------------------------------------------------------
+    // 4. fromBytes_roundTrip
+    // ---------------------------------------------------------
+    @Test
+    void fromBytes_roundTrip() {
+        TileGrid grid = TileGrid.of(sampleTiles());
+        TileGrid copy = TileGrid.fromBytes(grid.toBytes(), 64);
+
+        assertEquals(grid, copy);
+        assertEquals(grid.hashCode(), copy.hashCode());
+    }
+
+    // ---------------------------------------------------------
+    // 5. set_invalidValue
+    // ---------------------------------------------------------
+    @Test
+    void set_invalidValue() {
+        TileGrid grid = new TileGrid(64);
+
+        assertThrows(IllegalArgumentException.class, () -> grid.set(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> TileGrid.of(Collections.nCopies(64, -1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.get(64));
+    }
+
+    // ---------------------------------------------------------
+    // 6. chunkLayout_extractEdgeChunk
+    // ---------------------------------------------------------
+    @Test
+    void chunkLayout_extractEdgeChunk() {
+        int width = 70;
+        int height = 3;
+        TileGrid grid = new TileGrid(width * height);
+        for (int i = 0; i < grid.size(); i++) {
+            grid.set(i, (i % width) % 3);
+        }
+
+        TileGrid retrieved = ChunkLayout.extract(grid, width, height, 1, 0);
+        TileGrid expected = new TileGrid(6 * 3);
+        for (int i = 0; i < expected.size(); i++) {
+            expected.set(i, (64 + i % 6) % 3);
+        }
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : " + expected);
+
+        assertEquals(2, ChunkLayout.chunkCount(width));
+        assertEquals(6, ChunkLayout.chunkLength(width, 1));
+        assertEquals(expected, retrieved);
+    }
+}
@@ -0,0 +1,99 @@
+package game.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. canonical_sameForEveryOrientation
+2. distance_countsDifferentTiles
+3. bandKeys_sharedByNearDuplicates
+*/
+
+class TileSignatureTest {
+
+    private static final List<Integer> CHILL = Arrays.asList(
+            2, 2, 2, 0, 0, 0, 1, 1,
+            2, 2, 2, 2, 2, 0, 1, 1,
+            1, 1, 2, 2, 2, 2, 2, 1,
+            1, 1, 0, 2, 2, 2, 2, 2,
+            1, 0, 0, 0, 0, 0, 2, 2,
+            0, 0, 1, 1, 0, 0, 0, 0,
+            0, 1, 1, 1, 1, 1, 0, 0,
+            1, 1, 1, 1, 1, 1, 1, 0
+    );
+
+    // ---------------------------------------------------------
+    // 1. canonical_sameForEveryOrientation
+    // ---------------------------------------------------------
+    @Test
+    void canonical_sameForEveryOrientation() {
+        TileGrid grid = TileGrid.of(CHILL);
+        byte[] expected = TileSignature.canonical(grid);
+
+        for (Symmetry symmetry : Symmetry.values()) {
+            byte[] retrieved = TileSignature.canonical(symmetry.transform(grid, TileSignature.SIZE));
+
+            System.out.println("RETRIEVED: " + symmetry + " " + Arrays.toString(retrieved));
+
+            assertArrayEquals(expected, retrieved);
+        }
+        System.out.println("EXPECTED : " + Arrays.toString(expected));
+    }
+
+    // ---------------------------------------------------------
+    // 2. distance_countsDifferentTiles
+    // ---------------------------------------------------------
+    @Test
+    void distance_countsDifferentTiles() {
+        TileGrid grid = TileGrid.of(CHILL);
+        TileGrid changed = TileGrid.of(CHILL);
+        changed.set(0, 0);
+        changed.set(9, 1);
+        changed.set(63, 2);
+
+        int retrieved = TileSignature.distance(grid.toBytes(), changed.toBytes());
+        int rotated = TileSignature.distance(TileSignature.orientations(grid),
+                TileSignature.canonical(Symmetry.ROTATE_90.transform(changed, TileSignature.SIZE)));
+
+        System.out.println("RETRIEVED: " + retrieved + ", rotated " + rotated);
+        System.out.println("EXPECTED : 3");
+
+        assertEquals(3, retrieved);
+        assertEquals(3, rotated);
+    }
+
+    // ---------------------------------------------------------
+    // 3. bandKeys_sharedByNearDuplicates
+    // ---------------------------------------------------------
+    @Test
+    void bandKeys_sharedByNearDuplicates() {
+        TileGrid grid = TileGrid.of(CHILL);
+        // One change in each of the first 3 bands, the last one is left untouched
+        TileGrid changed = Symmetry.FLIP_VERTICAL.transform(TileGrid.of(CHILL), TileSignature.SIZE);
+        changed.set(0, (changed.get(0) + 1) % 3);
+        changed.set(17, (changed.get(17) + 1) % 3);
+        changed.set(33, (changed.get(33) + 1) % 3);
+
+        Set<Long> queried = new HashSet<>();
+        for (byte[] orientation : TileSignature.orientations(grid)) {
+            for (long key : TileSignature.bandKeys(orientation)) {
+                queried.add(key);
+            }
+        }
+        long shared = Arrays.stream(TileSignature.bandKeys(TileSignature.canonical(changed)))
+                .filter(queried::contains)
+                .count();
+
+        System.out.println("RETRIEVED: " + shared + " shared bands");
+        System.out.println("EXPECTED : at least 1");
+
+        assertTrue(shared >= 1);
+    }
+}
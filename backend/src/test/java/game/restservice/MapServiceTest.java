@@ -1,14 +1,22 @@
 package game.restservice;
 
+import game.cache.MapCache;
+import game.cache.MapNameIndex;
 import game.dto.MapDto;
 import game.exception.BadRequestException;
 import game.exception.NotFoundException;
 import game.model.MapEntity;
+import game.repository.MapBandRepository;
+import game.repository.MapChunkRepository;
 import game.repository.MapRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +33,8 @@ Tests List :
 7. saveMap_invalidTiles_wrongSize
 8. saveMap_invalidTiles_badValue
 9. saveMap_emptyName
+10. getMapNames_servedFromIndex
+11. saveMap_otherConstraintViolation
 */
 
 class MapServiceTest {
@@ -35,7 +45,9 @@ class MapServiceTest {
     @BeforeEach
     void setup() {
         repo = Mockito.mock(MapRepository.class);
-        service = new MapService(repo);
+        service = new MapService(repo, Mockito.mock(MapChunkRepository.class), Mockito.mock(MapBandRepository.class),
+                new MapNameIndex(repo), new MapCache(100, Duration.ofSeconds(30)),
+                Mockito.mock(PlatformTransactionManager.class), false);
         System.out.println("=== Setup MapServiceTest ===");
     }
 
@@ -48,11 +60,7 @@ class MapServiceTest {
     // ---------------------------------------------------------
     @Test
     void getMapNames_success() {
-        List<MapEntity> list = List.of(
-                new MapEntity("map1", validTiles()),
-                new MapEntity("map2", validTiles())
-        );
-        when(repo.findAllAsList()).thenReturn(list);
+        when(repo.findAllNames()).thenReturn(List.of("map2", "map1"));
 
         List<String> retrieved = service.getMapNames();
         List<String> expected = List.of("map1", "map2");
@@ -122,13 +130,13 @@ class MapServiceTest {
     @Test
     void saveMap_create_duplicateName() {
         MapDto dto = new MapDto(null, "existing", validTiles());
-        MapEntity existing = new MapEntity("existing", validTiles());
 
-        when(repo.findByName("existing")).thenReturn(Optional.of(existing));
+        when(repo.save(any())).thenThrow(new DataIntegrityViolationException("unique constraint on name",
+                new SQLException("Unique index or primary key violation", "23505")));
 
         assertThrows(BadRequestException.class, () -> service.saveMap(dto));
 
-        verify(repo, never()).save(any(MapEntity.class));
+        verify(repo, never()).findByName(any());
     }
 
     // ---------------------------------------------------------
@@ -193,4 +201,45 @@ class MapServiceTest {
         System.out.println("RETRIEVED: BadRequestException with message '" + ex.getMessage() + "'");
         System.out.println("EXPECTED : BadRequestException for empty name");
     }
+
+    // ---------------------------------------------------------
+    // 10. getMapNames_servedFromIndex
+    // ---------------------------------------------------------
+    @Test
+    void getMapNames_servedFromIndex() {
+        when(repo.findAllNames()).thenReturn(List.of("map1"));
+        MapEntity saved = new MapEntity("map0", validTiles());
+        when(repo.save(any())).thenReturn(saved);
+
+        service.getMapNames();
+        service.saveMap(new MapDto(null, "map0", validTiles()));
+        List<String> retrieved = service.getMapNames();
+        List<String> expected = List.of("map0", "map1");
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : " + expected);
+
+        assertEquals(expected, retrieved);
+        verify(repo, times(1)).findAllNames();
+        verify(repo, never()).findAllAsList();
+    }
+
+    // ---------------------------------------------------------
+    // 11. saveMap_otherConstraintViolation
+    // ---------------------------------------------------------
+    @Test
+    void saveMap_otherConstraintViolation() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null constraint",
+                new SQLException("NULL not allowed for column", "23502"));
+        when(repo.save(any())).thenThrow(notNull);
+
+        DataIntegrityViolationException retrieved = assertThrows(DataIntegrityViolationException.class,
+                () -> service.saveMap(new MapDto(null, "map1", validTiles())));
+
+        System.out.println("RETRIEVED: " + retrieved.getMessage());
+        System.out.println("EXPECTED : the violation, not reported as a duplicate name");
+
+        assertSame(notNull, retrieved);
+        assertThrows(BadRequestException.class, () -> service.saveMap(new MapDto(null, "m".repeat(256), validTiles())));
+    }
 }
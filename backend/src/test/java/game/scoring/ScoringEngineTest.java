@@ -0,0 +1,133 @@
+package game.scoring;
+
+import game.model.TileGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. neighborhood_clippedToBoard
+2. placementScore_bearInForest
+3. gameState_nextTurns
+4. gameState_animalsAround
+5. gameState_illegalMoves
+6. gameState_undo
+*/
+
+class ScoringEngineTest {
+
+    private static final int TREE = 1;
+
+    private long[] forest() {
+        return ScoringEngine.tileMasks(TileGrid.of(Collections.nCopies(64, TREE)));
+    }
+
+    // ---------------------------------------------------------
+    // 1. neighborhood_clippedToBoard
+    // ---------------------------------------------------------
+    @Test
+    void neighborhood_clippedToBoard() {
+        assertEquals(3, Long.bitCount(ScoringEngine.neighborhood(0, 1)));
+        assertEquals(8, Long.bitCount(ScoringEngine.neighborhood(9, 1)));
+        assertEquals(8, Long.bitCount(ScoringEngine.neighborhood(0, 2)));
+        assertEquals(24, Long.bitCount(ScoringEngine.neighborhood(27, 2)));
+        assertEquals(0, ScoringEngine.neighborhood(27, 2) & (1L << 27));
+    }
+
+    // ---------------------------------------------------------
+    // 2. placementScore_bearInForest
+    // ---------------------------------------------------------
+    @Test
+    void placementScore_bearInForest() {
+        int retrieved = ScoringEngine.placementScore(forest(), new long[Animal.COUNT], Animal.BEAR, 0);
+        int expected = 6 + 8 * 4;
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : " + expected);
+
+        assertEquals(expected, retrieved);
+    }
+
+    // ---------------------------------------------------------
+    // 3. gameState_nextTurns
+    // ---------------------------------------------------------
+    @Test
+    void gameState_nextTurns() {
+        GameState state = new GameState(forest());
+
+        state.place(Animal.BEAR, 0);
+
+        System.out.println("RETRIEVED: turn " + state.getTurn() + ", limit " + state.getScoreLimit());
+        System.out.println("EXPECTED : turn 3, limit 48");
+
+        assertEquals(38, state.getScore());
+        assertEquals(3, state.getTurn());
+        assertEquals(48, state.getScoreLimit());
+        assertEquals(2, state.inventory(Animal.BEAR));
+        assertEquals(2, state.inventory(Animal.FOX));
+        assertFalse(state.isGameOver());
+    }
+
+    // ---------------------------------------------------------
+    // 4. gameState_animalsAround
+    // ---------------------------------------------------------
+    @Test
+    void gameState_animalsAround() {
+        GameState state = new GameState(forest());
+
+        state.place(Animal.BEAR, 0);
+        int fox = state.place(Animal.FOX, 1);
+        int bear = state.place(Animal.BEAR, 2);
+
+        System.out.println("RETRIEVED: fox " + fox + ", bear " + bear);
+        System.out.println("EXPECTED : fox 5, bear 47");
+
+        assertEquals(5, fox);
+        assertEquals(6 + 12 * 4 - 5 - 2, bear);
+        assertEquals(90, state.getScore());
+        assertEquals(5, state.getTurn());
+    }
+
+    // ---------------------------------------------------------
+    // 5. gameState_illegalMoves
+    // ---------------------------------------------------------
+    @Test
+    void gameState_illegalMoves() {
+        GameState state = new GameState(forest());
+
+        assertThrows(IllegalMoveException.class, () -> state.place(Animal.FOX, 0));
+        state.place(Animal.BEAR, 0);
+        assertThrows(IllegalMoveException.class, () -> state.place(Animal.FOX, 0));
+        assertThrows(IllegalMoveException.class, () -> state.place(Animal.FISH, 5));
+        assertThrows(IllegalMoveException.class, () -> state.place(Animal.BEAR, 64));
+    }
+
+    // ---------------------------------------------------------
+    // 6. gameState_undo
+    // ---------------------------------------------------------
+    @Test
+    void gameState_undo() {
+        GameState state = new GameState(forest());
+
+        state.place(Animal.BEAR, 0);
+        state.place(Animal.FOX, 1);
+        GameState.Placement bear = state.apply(Animal.BEAR, 2);
+        state.undo(bear);
+
+        System.out.println("RETRIEVED: score " + state.getScore() + ", turn " + state.getTurn());
+        System.out.println("EXPECTED : score 43, turn 3");
+
+        assertEquals(43, state.getScore());
+        assertEquals(3, state.getTurn());
+        assertEquals(48, state.getScoreLimit());
+        assertEquals(2, state.inventory(Animal.BEAR));
+        assertEquals(1, state.inventory(Animal.FOX));
+        assertEquals(0, state.animalMask(Animal.BEAR) & (1L << 2));
+        assertEquals(bear, state.apply(Animal.BEAR, 2));
+        assertEquals(90, state.getScore());
+        assertEquals(5, state.getTurn());
+    }
+}
@@ -0,0 +1,165 @@
+package game.session;
+
+import game.scoring.Animal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. readAll_longMapName
+2. append_rollsSegments
+3. reopen_stopsAtTornRecord
+4. read_sessionAcrossSegments
+*/
+
+class MoveLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final long[] tileMasks = {0x00000000FFFFFFFFL, 0x0000FFFF00000000L, 0xFFFF000000000000L};
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    // ---------------------------------------------------------
+    // 1. readAll_longMapName
+    // ---------------------------------------------------------
+    @Test
+    void readAll_longMapName() throws IOException {
+        MoveLog log = new MoveLog(directory, 1024 * MoveLog.RECORD_SIZE, 4);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        String longName = "map-" + "é".repeat(40);
+
+        log.start(first, longName, tileMasks);
+        log.start(second, "short", tileMasks);
+        log.append(MoveLog.Type.PLACE, first, Animal.FISH, 63);
+        log.append(MoveLog.Type.UNDO, first, null, 0);
+        log.append(MoveLog.Type.END, second, null, 0);
+        Map<UUID, MoveLog.SessionLog> retrieved = log.readAll();
+        log.close();
+
+        System.out.println("RETRIEVED: " + retrieved.get(first).mapName() + " " + retrieved.get(first).moves());
+        System.out.println("EXPECTED : " + longName + " [PLACE FISH 63, UNDO]");
+
+        assertEquals(List.of(first, second), List.copyOf(retrieved.keySet()));
+        MoveLog.SessionLog session = retrieved.get(first);
+        assertEquals(longName, session.mapName());
+        assertArrayEquals(tileMasks, session.tileMasks());
+        assertEquals(2, session.moves().size());
+        assertEquals(Animal.FISH, session.moves().get(0).animal());
+        assertEquals(63, session.moves().get(0).tile());
+        assertEquals(MoveLog.Type.UNDO, session.moves().get(1).type());
+        assertFalse(session.ended());
+        assertTrue(retrieved.get(second).ended());
+    }
+
+    // ---------------------------------------------------------
+    // 2. append_rollsSegments
+    // ---------------------------------------------------------
+    @Test
+    void append_rollsSegments() throws IOException {
+        MoveLog log = new MoveLog(directory, 4 * MoveLog.RECORD_SIZE, 3);
+        UUID old = UUID.randomUUID();
+        UUID recent = UUID.randomUUID();
+
+        log.start(old, "old", tileMasks);
+        for (int i = 0; i < 12; i++) {
+            log.append(MoveLog.Type.PLACE, old, Animal.BEAR, i);
+        }
+        log.start(recent, "recent", tileMasks);
+        log.append(MoveLog.Type.PLACE, recent, Animal.BEAR, 9);
+        Map<UUID, MoveLog.SessionLog> retrieved = log.readAll();
+        log.close();
+
+        System.out.println("RETRIEVED: " + segments().size() + " segments, sessions " + retrieved.keySet());
+        System.out.println("EXPECTED : 3 segments, the old session deleted with its segment");
+
+        assertEquals(3, segments().size());
+        assertEquals(List.of(recent), List.copyOf(retrieved.keySet()));
+        assertEquals(1, retrieved.get(recent).moves().size());
+    }
+
+    // ---------------------------------------------------------
+    // 3. reopen_stopsAtTornRecord
+    // ---------------------------------------------------------
+    @Test
+    void reopen_stopsAtTornRecord() throws IOException {
+        MoveLog log = new MoveLog(directory, 16 * MoveLog.RECORD_SIZE, 4);
+        UUID session = UUID.randomUUID();
+        log.start(session, "torn", tileMasks);
+        log.append(MoveLog.Type.PLACE, session, Animal.BEAR, 1);
+        log.append(MoveLog.Type.PLACE, session, Animal.BEAR, 2);
+        log.close();
+
+        // A crash in the middle of the third record
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(2 * MoveLog.RECORD_SIZE + 40);
+            file.write(0x55);
+        }
+        log = new MoveLog(directory, 16 * MoveLog.RECORD_SIZE, 4);
+        List<MoveLog.Move> torn = log.read(session).moves();
+        log.append(MoveLog.Type.PLACE, session, Animal.BEAR, 3);
+        List<MoveLog.Move> retrieved = log.read(session).moves();
+        log.close();
+
+        System.out.println("RETRIEVED: " + retrieved);
+        System.out.println("EXPECTED : the moves on tiles 1 and 3");
+
+        assertEquals(1, torn.size());
+        assertEquals(List.of(1, 3), retrieved.stream().map(MoveLog.Move::tile).toList());
+        assertNull(log.read(UUID.randomUUID()));
+    }
+
+    // ---------------------------------------------------------
+    // 4. read_sessionAcrossSegments
+    // ---------------------------------------------------------
+    @Test
+    void read_sessionAcrossSegments() throws IOException {
+        MoveLog log = new MoveLog(directory, 4 * MoveLog.RECORD_SIZE, 4);
+        UUID other = UUID.randomUUID();
+        UUID session = UUID.randomUUID();
+        log.start(other, "other", tileMasks);
+        log.append(MoveLog.Type.END, other, null, 0);
+        log.start(session, "rolled", tileMasks);
+        for (int i = 0; i < 5; i++) {
+            log.append(MoveLog.Type.PLACE, session, Animal.BEAR, i);
+        }
+        List<MoveLog.Move> read = log.read(session).moves();
+        Map<UUID, MoveLog.SessionLog> all = log.readAll();
+        log.close();
+        // Read again after a restart, with the start of the session not remembered
+        log = new MoveLog(directory, 4 * MoveLog.RECORD_SIZE, 4);
+        List<MoveLog.Move> reopened = log.read(session).moves();
+        MoveLog.SessionLog ended = log.read(other);
+        MoveLog.SessionLog unknown = log.read(UUID.randomUUID());
+        log.close();
+
+        System.out.println("RETRIEVED: " + segments().size() + " segments, moves " + read);
+        System.out.println("EXPECTED : 2 segments, the moves on tiles 0 to 4 once");
+
+        assertEquals(2, segments().size());
+        List<Integer> expected = List.of(0, 1, 2, 3, 4);
+        assertEquals(expected, read.stream().map(MoveLog.Move::tile).toList());
+        assertEquals(expected, all.get(session).moves().stream().map(MoveLog.Move::tile).toList());
+        assertEquals(expected, reopened.stream().map(MoveLog.Move::tile).toList());
+        assertTrue(all.get(other).ended());
+        assertTrue(ended.ended());
+        assertNull(unknown);
+    }
+}
@@ -0,0 +1,178 @@
+package game.session;
+
+import game.dto.MapDto;
+import game.dto.MoveDto;
+import game.dto.SessionDto;
+import game.exception.BadRequestException;
+import game.exception.NotFoundException;
+import game.model.TileGrid;
+import game.restservice.MapService;
+import game.scoring.Animal;
+import game.scoring.IllegalMoveException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/*
+Tests List :
+1. placeUndoRedo
+2. evictIdle
+3. maxSessions
+4. recover_afterRestart
+5. replay_endedSession
+*/
+
+class SessionServiceTest {
+
+    @TempDir
+    Path logDirectory;
+
+    private final AtomicLong clock = new AtomicLong();
+    private MapService mapService;
+    private MoveLog log;
+    private SessionService service;
+
+    @BeforeEach
+    void setup() throws IOException {
+        mapService = Mockito.mock(MapService.class);
+        when(mapService.getMapByName("forest"))
+                .thenReturn(new MapDto(1, "forest", 8, 8, TileGrid.of(Collections.nCopies(64, 1))));
+        log = new MoveLog(logDirectory, 64 * MoveLog.RECORD_SIZE, 4);
+        service = new SessionService(mapService, log, Duration.ofMinutes(30), 2, clock::get);
+    }
+
+    @AfterEach
+    void closeLog() throws IOException {
+        log.close();
+    }
+
+    // Reopens the log and recovers the sessions, as after a restart
+    private SessionService restart() throws IOException {
+        log.close();
+        log = new MoveLog(logDirectory, 64 * MoveLog.RECORD_SIZE, 4);
+        SessionService restarted = new SessionService(mapService, log, Duration.ofMinutes(30), 2, clock::get);
+        restarted.recover();
+        return restarted;
+    }
+
+    // ---------------------------------------------------------
+    // 1. placeUndoRedo
+    // ---------------------------------------------------------
+    @Test
+    void placeUndoRedo() {
+        String id = service.create("forest").id();
+
+        service.place(id, new MoveDto(Animal.BEAR, 0, 0));
+        SessionDto placed = service.place(id, new MoveDto(Animal.FOX, 1, 0));
+        SessionDto undone = service.undo(id);
+        SessionDto redone = service.redo(id);
+
+        System.out.println("RETRIEVED: " + placed.score() + " -> " + undone.score() + " -> " + redone.score());
+        System.out.println("EXPECTED : 43 -> 38 -> 43");
+
+        assertEquals(43, placed.score());
+        assertEquals(38, undone.score());
+        assertTrue(undone.canRedo());
+        assertEquals(1, undone.moves().size());
+        assertEquals(placed.moves(), redone.moves());
+        assertArrayEquals(new int[]{38, 5}, redone.moveScores());
+        assertFalse(redone.canRedo());
+
+        service.undo(id);
+        service.place(id, new MoveDto(Animal.FOX, 2, 0));
+        assertThrows(IllegalMoveException.class, () -> service.redo(id));
+    }
+
+    // ---------------------------------------------------------
+    // 2. evictIdle
+    // ---------------------------------------------------------
+    @Test
+    void evictIdle() {
+        String idle = service.create("forest").id();
+        String active = service.create("forest").id();
+
+        clock.addAndGet(Duration.ofMinutes(20).toNanos());
+        service.get(active);
+        clock.addAndGet(Duration.ofMinutes(20).toNanos());
+        service.evictIdle();
+
+        System.out.println("RETRIEVED: " + service.size() + " session left");
+        System.out.println("EXPECTED : 1 session left");
+
+        assertEquals(1, service.size());
+        assertThrows(NotFoundException.class, () -> service.get(idle));
+        assertEquals(active, service.get(active).id());
+    }
+
+    // ---------------------------------------------------------
+    // 3. maxSessions
+    // ---------------------------------------------------------
+    @Test
+    void maxSessions() {
+        service.create("forest");
+        String id = service.create("forest").id();
+
+        assertThrows(TooManySessionsException.class, () -> service.create("forest"));
+        service.delete(id);
+        service.create("forest");
+        assertEquals(2, service.size());
+    }
+
+    // ---------------------------------------------------------
+    // 4. recover_afterRestart
+    // ---------------------------------------------------------
+    @Test
+    void recover_afterRestart() throws IOException {
+        String id = service.create("forest").id();
+        service.place(id, new MoveDto(Animal.BEAR, 0, 0));
+        service.place(id, new MoveDto(Animal.FOX, 1, 0));
+        service.undo(id);
+        SessionDto expected = service.get(id);
+        service.delete(service.create("forest").id());
+
+        SessionService restarted = restart();
+        SessionDto retrieved = restarted.get(id);
+
+        System.out.println("RETRIEVED: " + retrieved.score() + " " + retrieved.moves() + " redo " + retrieved.canRedo());
+        System.out.println("EXPECTED : " + expected.score() + " " + expected.moves() + " redo " + expected.canRedo());
+
+        assertEquals(1, restarted.size());
+        assertEquals(expected.score(), retrieved.score());
+        assertEquals(expected.moves(), retrieved.moves());
+        assertEquals(expected.inventory(), retrieved.inventory());
+        assertEquals(43, restarted.redo(id).score());
+    }
+
+    // ---------------------------------------------------------
+    // 5. replay_endedSession
+    // ---------------------------------------------------------
+    @Test
+    void replay_endedSession() {
+        String id = service.create("forest").id();
+        service.place(id, new MoveDto(Animal.BEAR, 0, 0));
+        service.place(id, new MoveDto(Animal.FOX, 1, 0));
+        service.delete(id);
+
+        SessionDto retrieved = service.replay(id, 1);
+
+        System.out.println("RETRIEVED: " + retrieved.score() + " " + retrieved.moves());
+        System.out.println("EXPECTED : 38 [BEAR at (0, 0)]");
+
+        assertEquals(38, retrieved.score());
+        assertEquals("forest", retrieved.mapName());
+        assertEquals(43, service.replay(id, null).score());
+        assertThrows(BadRequestException.class, () -> service.replay(id, 3));
+        assertThrows(NotFoundException.class, () -> service.get(id));
+    }
+}
@@ -0,0 +1,156 @@
+package game.solver;
+
+import game.model.TileGrid;
+import game.scoring.Animal;
+import game.scoring.ScoringEngine;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+Tests List :
+1. solve_matchesBruteForce
+2. solve_movesReplayToScore
+3. solve_symmetricMap
+4. solve_stopsAtDeadline
+*/
+
+class PlacementSolverTest {
+
+    private static ForkJoinPool pool;
+
+    private static final List<Integer> CHILL = Arrays.asList(
+            2, 2, 2, 0, 0, 0, 1, 1,
+            2, 2, 2, 2, 2, 0, 1, 1,
+            1, 1, 2, 2, 2, 2, 2, 1,
+            1, 1, 0, 2, 2, 2, 2, 2,
+            1, 0, 0, 0, 0, 0, 2, 2,
+            0, 0, 1, 1, 0, 0, 0, 0,
+            0, 1, 1, 1, 1, 1, 0, 0,
+            1, 1, 1, 1, 1, 1, 1, 0
+    );
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdownNow();
+    }
+
+    private PlacementSolver.Solution solve(long[] tileMasks, int bears, int fish, int foxes, long budgetMillis) {
+        int[] inventory = {bears, fish, foxes};
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        return new PlacementSolver(tileMasks, inventory, 1_000_000, deadline).solve(pool);
+    }
+
+    // Best score of every ordered placement of two animals
+    private int bruteForce(long[] tileMasks, Animal first, Animal second) {
+        int best = 0;
+        long[] masks = new long[Animal.COUNT];
+        for (int a = 0; a < 64; a++) {
+            if (!first.canLiveOn(tileType(tileMasks, a))) continue;
+            int scoreA = ScoringEngine.placementScore(tileMasks, masks, first, a);
+            best = Math.max(best, scoreA);
+            masks[first.ordinal()] |= 1L << a;
+            for (int b = 0; b < 64; b++) {
+                if (b == a || !second.canLiveOn(tileType(tileMasks, b))) continue;
+                best = Math.max(best, scoreA + ScoringEngine.placementScore(tileMasks, masks, second, b));
+            }
+            masks[first.ordinal()] = 0;
+        }
+        return best;
+    }
+
+    private int tileType(long[] tileMasks, int tile) {
+        for (int type = 0; type < tileMasks.length; type++) {
+            if ((tileMasks[type] & (1L << tile)) != 0) return type;
+        }
+        return -1;
+    }
+
+    // ---------------------------------------------------------
+    // 1. solve_matchesBruteForce
+    // ---------------------------------------------------------
+    @Test
+    void solve_matchesBruteForce() {
+        long[] tileMasks = ScoringEngine.tileMasks(TileGrid.of(CHILL));
+
+        PlacementSolver.Solution solution = solve(tileMasks, 1, 1, 0, 10_000);
+        int expected = Math.max(
+                bruteForce(tileMasks, Animal.BEAR, Animal.FISH),
+                bruteForce(tileMasks, Animal.FISH, Animal.BEAR));
+
+        System.out.println("RETRIEVED: " + solution.score());
+        System.out.println("EXPECTED : " + expected);
+
+        assertTrue(solution.complete());
+        assertEquals(expected, solution.score());
+    }
+
+    // ---------------------------------------------------------
+    // 2. solve_movesReplayToScore
+    // ---------------------------------------------------------
+    @Test
+    void solve_movesReplayToScore() {
+        long[] tileMasks = ScoringEngine.tileMasks(TileGrid.of(CHILL));
+
+        PlacementSolver.Solution solution = solve(tileMasks, 2, 2, 2, 10_000);
+
+        long[] masks = new long[Animal.COUNT];
+        int replayed = 0;
+        for (int move : solution.moves()) {
+            Animal animal = PlacementSolver.Solution.animal(move);
+            int tile = PlacementSolver.Solution.tile(move);
+            assertTrue(animal.canLiveOn(tileType(tileMasks, tile)));
+            replayed += ScoringEngine.placementScore(tileMasks, masks, animal, tile);
+            masks[animal.ordinal()] |= 1L << tile;
+        }
+
+        System.out.println("RETRIEVED: " + replayed + " in " + solution.nodes() + " nodes");
+        System.out.println("EXPECTED : " + solution.score());
+
+        assertEquals(solution.score(), replayed);
+    }
+
+    // ---------------------------------------------------------
+    // 3. solve_symmetricMap
+    // ---------------------------------------------------------
+    @Test
+    void solve_symmetricMap() {
+        long[] tileMasks = ScoringEngine.tileMasks(TileGrid.of(Collections.nCopies(64, 1)));
+
+        PlacementSolver.Solution solution = solve(tileMasks, 2, 0, 0, 10_000);
+
+        System.out.println("RETRIEVED: " + solution.score());
+        System.out.println("EXPECTED : 2 bears far apart in the middle of the forest");
+
+        assertTrue(solution.complete());
+        assertEquals(2 * (6 + 24 * 4), solution.score());
+    }
+
+    // ---------------------------------------------------------
+    // 4. solve_stopsAtDeadline
+    // ---------------------------------------------------------
+    @Test
+    void solve_stopsAtDeadline() {
+        long[] tileMasks = ScoringEngine.tileMasks(TileGrid.of(CHILL));
+
+        PlacementSolver.Solution solution = solve(tileMasks, 8, 8, 8, 200);
+
+        System.out.println("RETRIEVED: " + solution.score() + " after " + solution.elapsedNanos() / 1_000_000 + " ms");
+
+        assertFalse(solution.complete());
+        assertTrue(solution.score() > 0);
+        assertTrue(solution.elapsedNanos() < 5_000_000_000L);
+    }
+}